@@ -0,0 +1,191 @@
+package com.socialnetwork;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs the Prim and Kruskal engines over many independent graphs concurrently.
+ * Each graph is one job on the executor; both engines for a graph run back to back on the
+ * same worker, and results come back in input order regardless of completion order.
+ * With thread CPU timing enabled, execution times are taken from the worker thread's CPU
+ * clock, so time a job spends descheduled while other jobs run is not charged to it.
+ * With an {@link MSTTimer}, every engine is warmed up and timed over repeated trials instead.
+ */
+public class BatchRunner {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final ExecutorService executor;
+    private final MSTEngine primEngine;
+    private final MSTEngine kruskalEngine;
+    private final boolean threadCpuTiming;
+    private final MSTCache cache;
+    private final MSTTimer timer;
+
+    /**
+     * @param executor Executor that runs the per-graph jobs; not shut down by the runner
+     * @param primEngine Engine whose results are reported as "prim"
+     * @param kruskalEngine Engine whose results are reported as "kruskal"
+     * @param threadCpuTiming Report per-thread CPU time instead of wall-clock time, if the JVM supports it
+     *                        and thread CPU time measurement is enabled; otherwise wall-clock time is used.
+     *                        Not allowed for engines that use the common pool, whose work this clock misses.
+     * @throws IllegalArgumentException If timing by thread CPU clock and an engine uses the common pool
+     */
+    public BatchRunner(ExecutorService executor, MSTEngine primEngine, MSTEngine kruskalEngine,
+                       boolean threadCpuTiming) {
+        this(executor, primEngine, kruskalEngine, threadCpuTiming, null);
+    }
+
+    /**
+     * Same as above, with results looked up in (and added to) the given cache.
+     * @param cache Cache shared by all jobs; null to always compute
+     */
+    public BatchRunner(ExecutorService executor, MSTEngine primEngine, MSTEngine kruskalEngine,
+                       boolean threadCpuTiming, MSTCache cache) {
+        this(executor, primEngine, kruskalEngine, threadCpuTiming, cache, null);
+    }
+
+    /**
+     * Same as above, with each engine measured by the given timer; its clock setting takes precedence.
+     * @param cache Cache shared by all jobs; null to always compute
+     * @throws IllegalArgumentException If the timer uses the thread CPU clock and an engine uses the common pool
+     */
+    public BatchRunner(ExecutorService executor, MSTEngine primEngine, MSTEngine kruskalEngine,
+                       MSTTimer timer, MSTCache cache) {
+        this(executor, primEngine, kruskalEngine, false, cache, timer);
+    }
+
+    private BatchRunner(ExecutorService executor, MSTEngine primEngine, MSTEngine kruskalEngine,
+                        boolean threadCpuTiming, MSTCache cache, MSTTimer timer) {
+        this.executor = executor;
+        this.primEngine = primEngine;
+        this.kruskalEngine = kruskalEngine;
+        // The enabled flag is JVM-wide, so it is left to the caller
+        this.threadCpuTiming = threadCpuTiming && THREADS.isCurrentThreadCpuTimeSupported()
+            && THREADS.isThreadCpuTimeEnabled();
+        this.cache = cache;
+        this.timer = timer;
+        boolean cpuClock = timer != null ? timer.isThreadCpuTiming() : this.threadCpuTiming;
+        for (MSTEngine engine : new MSTEngine[] {primEngine, kruskalEngine}) {
+            if (cpuClock && engine.usesCommonPool()) {
+                throw new IllegalArgumentException(engine + " runs on the common pool; time it by wall clock");
+            }
+        }
+    }
+
+    /**
+     * Runs the default Prim and Kruskal engines on a fixed pool of the given size.
+     */
+    public static List<JSONHandler.GraphResult> run(List<Graph> graphs, int threads) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            return new BatchRunner(executor, MSTEngine.PRIM, MSTEngine.KRUSKAL, true).run(graphs);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Solves every graph and returns the results in the same order as the input.
+     */
+    public List<JSONHandler.GraphResult> run(List<Graph> graphs) throws InterruptedException {
+        List<Future<JSONHandler.GraphResult>> futures = new ArrayList<>(graphs.size());
+        for (Graph graph : graphs) {
+            futures.add(submit(graph));
+        }
+        return collect(futures);
+    }
+
+    /**
+     * Schedules one graph and returns the pending result.
+     */
+    public Future<JSONHandler.GraphResult> submit(Graph graph) {
+        return executor.submit(() -> solve(graph));
+    }
+
+    /**
+     * Waits for the given jobs in order.
+     */
+    public static List<JSONHandler.GraphResult> collect(List<Future<JSONHandler.GraphResult>> futures)
+            throws InterruptedException {
+        List<JSONHandler.GraphResult> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<JSONHandler.GraphResult> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            for (Future<JSONHandler.GraphResult> future : futures) {
+                future.cancel(true);
+            }
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("MST job failed", cause);
+        }
+        return results;
+    }
+
+    private JSONHandler.GraphResult solve(Graph graph) {
+        MSTResult primResult = timed(primEngine, graph);
+        MSTResult kruskalResult = timed(kruskalEngine, graph);
+        return new JSONHandler.GraphResult(graph.getId(), graph.getVertexCount(), graph.getEdgeCount(),
+                                           primResult, kruskalResult);
+    }
+
+    private MSTResult timed(MSTEngine engine, Graph graph) {
+        if (cache != null) {
+            return cache.findMST(graph, engine, () -> measure(engine, graph));
+        }
+        return measure(engine, graph);
+    }
+
+    private MSTResult measure(MSTEngine engine, Graph graph) {
+        if (timer != null) {
+            return timer.measure(engine, graph);
+        }
+        if (!threadCpuTiming) {
+            return engine.findMST(graph);
+        }
+        long startCpu = THREADS.getCurrentThreadCpuTime();
+        MSTResult result = engine.findMST(graph);
+        double cpuTimeMs = (THREADS.getCurrentThreadCpuTime() - startCpu) / 1_000_000.0;
+        return result.withExecutionTimeMs(cpuTimeMs);
+    }
+
+    /**
+     * Batch driver: BatchRunner &lt;input.json&gt; &lt;output.json&gt; &lt;output.csv&gt; [threads] [warmup] [trials]
+     * Graphs are scheduled as soon as they are parsed from the input. Giving a trial count
+     * measures every engine with an {@link MSTTimer} (warm-up defaults to 5 runs).
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length < 3) {
+            System.err.println("Usage: BatchRunner <input.json> <output.json> <output.csv> [threads] [warmup] [trials]");
+            System.exit(1);
+        }
+        int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        int warmup = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+        int trials = args.length > 5 ? Integer.parseInt(args[5]) : 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            BatchRunner runner = trials > 0
+                ? new BatchRunner(executor, MSTEngine.PRIM, MSTEngine.KRUSKAL, new MSTTimer(warmup, trials, true), null)
+                : new BatchRunner(executor, MSTEngine.PRIM, MSTEngine.KRUSKAL, true);
+            List<Future<JSONHandler.GraphResult>> futures = new ArrayList<>();
+            JSONHandler.forEachGraph(args[0], graph -> futures.add(runner.submit(graph)));
+            List<JSONHandler.GraphResult> results = collect(futures);
+
+            JSONHandler.writeResultsToJSON(results, args[1]);
+            JSONHandler.writeResultsToCSV(results, args[2]);
+            System.out.println("Solved " + results.size() + " graphs on " + threads + " threads");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.socialnetwork;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+/**
+ * Little-endian buffered writer over a FileChannel for the binary graph and result formats.
+ */
+class BinaryChannelWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private ByteBuffer scratch;
+
+    BinaryChannelWriter(Path path) throws IOException {
+        this.channel = FileChannel.open(path,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    void putLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+    }
+
+    void putDouble(double value) throws IOException {
+        ensureRemaining(Double.BYTES);
+        buffer.putDouble(value);
+    }
+
+    void putInts(int[] values, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            putInt(values[i]);
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     */
+    void putString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        putInt(bytes.length);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensureRemaining(1);
+            int chunk = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, chunk);
+            offset += chunk;
+        }
+    }
+
+    /**
+     * Encoded size of a length-prefixed UTF-8 string.
+     */
+    static int stringSize(String value) {
+        return Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Current file position, including buffered bytes.
+     */
+    long position() throws IOException {
+        return channel.position() + buffer.position();
+    }
+
+    /**
+     * Overwrites an int at an absolute file position that has already been flushed or buffered.
+     */
+    void patchInt(long position, int value) throws IOException {
+        flush();
+        ByteBuffer patch = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        patch.putInt(value).flip();
+        while (patch.hasRemaining()) {
+            channel.write(patch, position + patch.position());
+        }
+    }
+
+    /**
+     * Writes ints at an absolute file position, bypassing the buffer.
+     * Used to fill column sections that lie ahead of the current position.
+     */
+    void putIntsAt(long position, int[] values, int count) throws IOException {
+        if (scratch == null || scratch.capacity() < count * Integer.BYTES) {
+            scratch = ByteBuffer.allocateDirect(Math.max(count * Integer.BYTES, BUFFER_SIZE)).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        scratch.clear();
+        scratch.asIntBuffer().put(values, 0, count);
+        scratch.limit(count * Integer.BYTES);
+        while (scratch.hasRemaining()) {
+            channel.write(scratch, position + scratch.position());
+        }
+    }
+
+    /**
+     * Moves the write position forward past a section filled with {@link #putIntsAt}.
+     */
+    void skip(long bytes) throws IOException {
+        flush();
+        channel.position(channel.position() + bytes);
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.socialnetwork;
+
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Versioned binary format for graph sets, loaded through memory-mapped files.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * header:  int magic 'MSTG', int version, int graphCount
+ * graph:   int id, int vertexCount, int edgeCount, int dictionaryBytes
+ *          node dictionary: vertexCount length-prefixed UTF-8 names
+ *          int from[edgeCount], int to[edgeCount], int weight[edgeCount]
+ * </pre>
+ * Endpoints are dense node ids, so a graph loads straight into {@link CompactGraph} arrays
+ * with bulk copies from the mapping and no text parsing.
+ */
+public class BinaryGraphFormat {
+    static final int MAGIC = 0x4754534D; // "MSTG" in little-endian byte order
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+    private static final int GRAPH_HEADER_BYTES = 4 * Integer.BYTES;
+
+    /**
+     * Writes graphs to a binary file.
+     */
+    public static void writeGraphs(List<Graph> graphs, String filename) throws IOException {
+        try (Writer writer = new Writer(Paths.get(filename))) {
+            for (Graph graph : graphs) {
+                writer.write(graph.getCompactGraph());
+            }
+        }
+    }
+
+    /**
+     * Writes compact graphs to a binary file.
+     */
+    public static void writeCompactGraphs(List<CompactGraph> graphs, String filename) throws IOException {
+        try (Writer writer = new Writer(Paths.get(filename))) {
+            for (CompactGraph graph : graphs) {
+                writer.write(graph);
+            }
+        }
+    }
+
+    /**
+     * Loads all graphs from a binary file.
+     */
+    public static List<CompactGraph> readGraphs(String filename) throws IOException {
+        List<CompactGraph> graphs = new ArrayList<>();
+        visitGraphs(filename, (id, names, from, to, weight) -> {
+            int m = from.remaining();
+            int[] fromIds = new int[m];
+            int[] toIds = new int[m];
+            int[] weights = new int[m];
+            from.get(fromIds);
+            to.get(toIds);
+            weight.get(weights);
+            graphs.add(new CompactGraph(id, names, fromIds, toIds, weights));
+        });
+        return graphs;
+    }
+
+    /**
+     * Maps every graph in a binary file in turn and hands its edge columns to the visitor.
+     * The columns are views of the mapping, so edges are not copied to the heap unless
+     * the visitor does so.
+     */
+    public static void visitGraphs(String filename, GraphVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            MappedByteBuffer header = map(channel, 0, HEADER_BYTES);
+            int magic = header.getInt();
+            int version = header.getInt();
+            int graphCount = header.getInt();
+            if (magic != MAGIC) {
+                throw new IOException("Not a binary graph file: " + filename);
+            }
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary graph version " + version + " in " + filename);
+            }
+
+            long position = HEADER_BYTES;
+            for (int g = 0; g < graphCount; g++) {
+                MappedByteBuffer graphHeader = map(channel, position, GRAPH_HEADER_BYTES);
+                int id = graphHeader.getInt();
+                int n = graphHeader.getInt();
+                int m = graphHeader.getInt();
+                int dictionaryBytes = graphHeader.getInt();
+                position += GRAPH_HEADER_BYTES;
+
+                String[] names = readDictionary(map(channel, position, dictionaryBytes), n);
+                position += dictionaryBytes;
+
+                long columnBytes = (long) m * Integer.BYTES;
+                IntBuffer from = map(channel, position, columnBytes).asIntBuffer();
+                IntBuffer to = map(channel, position + columnBytes, columnBytes).asIntBuffer();
+                IntBuffer weight = map(channel, position + 2 * columnBytes, columnBytes).asIntBuffer();
+                position += 3 * columnBytes;
+
+                visitor.visit(id, names, from, to, weight);
+            }
+        }
+    }
+
+    /**
+     * Receives one graph of a binary file: its node names and its mapped edge columns.
+     */
+    public interface GraphVisitor {
+        void visit(int id, String[] names, IntBuffer from, IntBuffer to, IntBuffer weight) throws IOException;
+    }
+
+    /**
+     * Converts a JSON graph file to the binary format, streaming one graph at a time.
+     * @return Number of graphs converted
+     */
+    public static int convertJsonToBinary(String jsonFile, String binaryFile) throws IOException {
+        int[] count = new int[1];
+        try (Writer writer = new Writer(Paths.get(binaryFile))) {
+            JSONHandler.forEachGraph(jsonFile, graph -> {
+                try {
+                    writer.write(CompactGraph.fromGraph(graph));
+                    count[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    /**
+     * Command line converter: BinaryGraphFormat &lt;input.json&gt; &lt;output.bin&gt;
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: BinaryGraphFormat <input.json> <output.bin>");
+            System.exit(1);
+        }
+        int graphs = convertJsonToBinary(args[0], args[1]);
+        System.out.println("Converted " + graphs + " graphs from " + args[0] + " to " + args[1]);
+    }
+
+    static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Section of " + size + " bytes is too large to map");
+        }
+        if (position + size > channel.size()) {
+            throw new EOFException("Truncated binary file");
+        }
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    static String[] readDictionary(MappedByteBuffer buffer, int count) {
+        String[] names = new String[count];
+        byte[] scratch = new byte[64];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(scratch, 0, length);
+            names[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    /**
+     * Appends graphs to a new binary file; the graph count in the header is filled in on close.
+     */
+    public static class Writer implements Closeable {
+        private final BinaryChannelWriter out;
+        private int graphCount;
+        private int pendingEdges = -1;
+        private long pendingColumnBytes;
+
+        public Writer(Path path) throws IOException {
+            this.out = new BinaryChannelWriter(path);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(0); // Graph count, patched on close
+        }
+
+        public void write(CompactGraph graph) throws IOException {
+            int m = graph.getEdgeCount();
+            writeGraphHeader(graph.getId(), graph.getVertexCount(), graph::getName, m);
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.getEdgeFrom(e));
+            }
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.getEdgeTo(e));
+            }
+            for (int e = 0; e < m; e++) {
+                out.putInt(graph.getEdgeWeight(e));
+            }
+            graphCount++;
+        }
+
+        /**
+         * Starts a graph whose edges arrive in blocks: writes its header and node dictionary and
+         * returns a sink that places every block straight into the three edge columns.
+         * Exactly edgeCount edges must be put before {@link #endGraph()}.
+         */
+        public EdgeSink beginGraph(int id, int vertexCount, IntFunction<String> names, int edgeCount)
+                throws IOException {
+            if (pendingEdges >= 0) {
+                throw new IllegalStateException("Previous graph was not ended");
+            }
+            writeGraphHeader(id, vertexCount, names, edgeCount);
+            long columnStart = out.position();
+            long columnBytes = (long) edgeCount * Integer.BYTES;
+            pendingEdges = edgeCount;
+            pendingColumnBytes = 3 * columnBytes;
+
+            return (from, to, weight, count) -> {
+                if (count > pendingEdges) {
+                    throw new IllegalStateException("More edges than announced: " + edgeCount);
+                }
+                long offset = columnStart + (long) (edgeCount - pendingEdges) * Integer.BYTES;
+                out.putIntsAt(offset, from, count);
+                out.putIntsAt(offset + columnBytes, to, count);
+                out.putIntsAt(offset + 2 * columnBytes, weight, count);
+                pendingEdges -= count;
+            };
+        }
+
+        public void endGraph() throws IOException {
+            if (pendingEdges != 0) {
+                throw new IllegalStateException(pendingEdges < 0 ? "No graph in progress"
+                    : pendingEdges + " announced edges were not written");
+            }
+            out.skip(pendingColumnBytes);
+            pendingEdges = -1;
+            graphCount++;
+        }
+
+        private void writeGraphHeader(int id, int n, IntFunction<String> names, int m) throws IOException {
+            int dictionaryBytes = 0;
+            for (int v = 0; v < n; v++) {
+                dictionaryBytes += BinaryChannelWriter.stringSize(names.apply(v));
+            }
+
+            out.putInt(id);
+            out.putInt(n);
+            out.putInt(m);
+            out.putInt(dictionaryBytes);
+            for (int v = 0; v < n; v++) {
+                out.putString(names.apply(v));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                out.patchInt(2 * Integer.BYTES, graphCount);
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.socialnetwork;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Binary counterpart of the JSON results file.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * header:  int magic 'MSTR', int version, int resultCount
+ * result:  int graphId, int vertices, int edges, mst prim, mst kruskal
+ * mst:     int edgeCount, int totalCost, long operationsCount, double executionTimeMs,
+ *          int componentCount, int componentCost[componentCount],
+ *          int categoryCount, long operations[categoryCount], int hasTiming, [timing],
+ *          int nameCount, nameCount length-prefixed UTF-8 names,
+ *          int from[edgeCount], int to[edgeCount], int weight[edgeCount]
+ * timing:  int warmupRuns, int trials, double minMs, double medianMs, double p95Ms, double p99Ms,
+ *          double meanMs, long allocatedBytesPerRun, long gcCount, long gcTimeMs
+ * </pre>
+ * Edge endpoints are indices into the per-result name dictionary. The per-category operation
+ * counts are in {@link OperationCounter.Category} order; categoryCount is 0 if the result only
+ * carries a total.
+ */
+public class BinaryResultFormat {
+    static final int MAGIC = 0x5254534D; // "MSTR" in little-endian byte order
+    static final int VERSION = 4; // 2: 64-bit operation counts, 3: per-component costs, 4: breakdown and timing
+    private static final int HEADER_BYTES = 3 * Integer.BYTES;
+
+    /**
+     * Writes graph results to a binary file.
+     */
+    public static void writeResults(List<JSONHandler.GraphResult> results, String filename) throws IOException {
+        try (BinaryChannelWriter out = new BinaryChannelWriter(Paths.get(filename))) {
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(results.size());
+            for (JSONHandler.GraphResult result : results) {
+                out.putInt(result.graphId);
+                out.putInt(result.vertices);
+                out.putInt(result.edges);
+                writeMSTResult(out, result.primResult);
+                writeMSTResult(out, result.kruskalResult);
+            }
+        }
+    }
+
+    /**
+     * Loads graph results from a binary file.
+     */
+    public static List<JSONHandler.GraphResult> readResults(String filename) throws IOException {
+        try (FileChannel channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ)) {
+            ByteBuffer buffer = BinaryGraphFormat.map(channel, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a binary result file: " + filename);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary result version " + version + " in " + filename);
+            }
+
+            int count = buffer.getInt();
+            List<JSONHandler.GraphResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int graphId = buffer.getInt();
+                int vertices = buffer.getInt();
+                int edges = buffer.getInt();
+                MSTResult prim = readMSTResult(buffer);
+                MSTResult kruskal = readMSTResult(buffer);
+                results.add(new JSONHandler.GraphResult(graphId, vertices, edges, prim, kruskal));
+            }
+            return results;
+        }
+    }
+
+    static void writeMSTResult(BinaryChannelWriter out, MSTResult result) throws IOException {
+        List<Edge> edges = result.getMstEdges();
+        Map<String, Integer> dictionary = new LinkedHashMap<>();
+        int[] from = new int[edges.size()];
+        int[] to = new int[edges.size()];
+        int[] weight = new int[edges.size()];
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            from[i] = dictionary.computeIfAbsent(edge.getFrom(), k -> dictionary.size());
+            to[i] = dictionary.computeIfAbsent(edge.getTo(), k -> dictionary.size());
+            weight[i] = edge.getWeight();
+        }
+
+        out.putInt(edges.size());
+        out.putInt(result.getTotalCost());
+        out.putLong(result.getTotalOperations());
+        out.putDouble(result.getExecutionTimeMs());
+        int[] componentCosts = result.getComponentCosts();
+        out.putInt(componentCosts.length);
+        out.putInts(componentCosts, componentCosts.length);
+        Map<OperationCounter.Category, Long> breakdown = result.getOperationBreakdown();
+        out.putInt(breakdown.size());
+        for (long count : breakdown.values()) {
+            out.putLong(count);
+        }
+        TimingStats timing = result.getTimingStats();
+        out.putInt(timing == null ? 0 : 1);
+        if (timing != null) {
+            out.putInt(timing.getWarmupRuns());
+            out.putInt(timing.getTrials());
+            out.putDouble(timing.getMinMs());
+            out.putDouble(timing.getMedianMs());
+            out.putDouble(timing.getP95Ms());
+            out.putDouble(timing.getP99Ms());
+            out.putDouble(timing.getMeanMs());
+            out.putLong(timing.getAllocatedBytesPerRun());
+            out.putLong(timing.getGcCount());
+            out.putLong(timing.getGcTimeMs());
+        }
+        out.putInt(dictionary.size());
+        for (String name : dictionary.keySet()) {
+            out.putString(name);
+        }
+        out.putInts(from, from.length);
+        out.putInts(to, to.length);
+        out.putInts(weight, weight.length);
+    }
+
+    static MSTResult readMSTResult(ByteBuffer buffer) {
+        int edgeCount = buffer.getInt();
+        int totalCost = buffer.getInt();
+        long operationsCount = buffer.getLong();
+        double executionTimeMs = buffer.getDouble();
+        int[] componentCosts = new int[buffer.getInt()];
+        buffer.asIntBuffer().get(componentCosts);
+        buffer.position(buffer.position() + componentCosts.length * Integer.BYTES);
+        long[] breakdown = new long[buffer.getInt()];
+        for (int i = 0; i < breakdown.length; i++) {
+            breakdown[i] = buffer.getLong();
+        }
+        TimingStats timing = null;
+        if (buffer.getInt() != 0) {
+            timing = new TimingStats(buffer.getInt(), buffer.getInt(), buffer.getDouble(), buffer.getDouble(),
+                                     buffer.getDouble(), buffer.getDouble(), buffer.getDouble(),
+                                     buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+
+        String[] names = new String[buffer.getInt()];
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            names[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int[] from = new int[edgeCount];
+        int[] to = new int[edgeCount];
+        int[] weight = new int[edgeCount];
+        buffer.asIntBuffer().get(from);
+        buffer.position(buffer.position() + edgeCount * Integer.BYTES);
+        buffer.asIntBuffer().get(to);
+        buffer.position(buffer.position() + edgeCount * Integer.BYTES);
+        buffer.asIntBuffer().get(weight);
+        buffer.position(buffer.position() + edgeCount * Integer.BYTES);
+
+        List<Edge> edges = new ArrayList<>(edgeCount);
+        for (int i = 0; i < edgeCount; i++) {
+            edges.add(new Edge(names[from[i]], names[to[i]], weight[i]));
+        }
+        return MSTResult.restore(edges, totalCost, componentCosts, operationsCount,
+                                 breakdown.length == 0 ? null : breakdown, executionTimeMs, timing);
+    }
+}
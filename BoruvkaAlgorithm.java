@@ -0,0 +1,208 @@
+package com.socialnetwork;
+
+import static com.socialnetwork.OperationCounter.Category.*;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Implementation of Boruvka's algorithm for finding Minimum Spanning Tree.
+ * Every round each component picks its lightest outgoing edge and the components are
+ * contracted along those edges. The per-component minimum search, the contraction and
+ * the removal of edges inside a component all run in parallel on a ForkJoinPool. Contraction
+ * uses pointer jumping, so a round costs O(n log n) work even when the hooks form a long chain.
+ */
+public class BoruvkaAlgorithm {
+    private static final long NO_EDGE = Long.MAX_VALUE;
+
+    /**
+     * Finds MST using Boruvka's algorithm on the common ForkJoinPool.
+     * @param graph The input graph
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(Graph graph) {
+        return findMST(graph.getCompactGraph(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Finds MST using Boruvka's algorithm on the given pool.
+     * Ties are broken by edge id, so all components agree on a single total order of edges
+     * and the chosen edges can never close a cycle.
+     * @param graph The input graph in compact form
+     * @param pool Pool that runs the parallel phases
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph, ForkJoinPool pool) {
+        return findMST(graph, pool, OperationCounter.counting());
+    }
+
+    /**
+     * Finds MST using Boruvka's algorithm on the given pool, reporting operations to the given counter.
+     * Parallel phases are counted once per round on the calling thread, so the counter need not be thread-safe.
+     * @param graph The input graph in compact form
+     * @param pool Pool that runs the parallel phases
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph, ForkJoinPool pool, OperationCounter counter) {
+        long startTime = System.nanoTime();
+
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+
+        // Handle empty graph: every vertex is a component of its own
+        if (n == 0 || m == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[n], counter, executionTimeMs);
+        }
+
+        int[] component = new int[n];     // vertex -> component representative
+        int[] parent = new int[n];        // representative -> representative it hooks onto
+        int[] nextComponent = new int[n]; // Second buffer for pointer jumping over the hooks
+        AtomicLongArray best = new AtomicLongArray(n);
+        for (int v = 0; v < n; v++) {
+            component[v] = v;
+        }
+
+        int[] active = new int[m];
+        int[] buffer = new int[m];
+        for (int e = 0; e < m; e++) {
+            active[e] = e;
+        }
+        int activeCount = m;
+
+        List<Edge> mstEdges = new ArrayList<>(n - 1);
+        int[] treeVertex = new int[n - 1];
+        int[] treeWeight = new int[n - 1];
+        int totalCost = 0;
+
+        while (activeCount > 0) {
+            final int[] edges = active;
+            final int edgeCount = activeCount;
+
+            // Phase 1: lightest outgoing edge of every component
+            ParallelLoops.parallelFor(pool, 0, n, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    best.set(v, NO_EDGE);
+                }
+            });
+            ParallelLoops.parallelFor(pool, 0, edgeCount, (from, to) -> {
+                for (int i = from; i < to; i++) {
+                    int e = edges[i];
+                    long key = ((long) graph.getEdgeWeight(e) << 32) | e;
+                    updateMin(best, component[graph.getEdgeFrom(e)], key);
+                    updateMin(best, component[graph.getEdgeTo(e)], key);
+                }
+            });
+            counter.add(EDGE_SCAN, edgeCount); // Edge scans
+
+            // Phase 2: hook every component onto the component across its lightest edge
+            ParallelLoops.parallelFor(pool, 0, n, (from, to) -> {
+                for (int c = from; c < to; c++) {
+                    if (component[c] != c || best.get(c) == NO_EDGE) {
+                        parent[c] = c;
+                        continue;
+                    }
+                    int e = (int) best.get(c);
+                    int u = component[graph.getEdgeFrom(e)];
+                    parent[c] = u == c ? component[graph.getEdgeTo(e)] : u;
+                }
+            });
+
+            // Collect the chosen edges; two components that picked each other share one edge
+            int added = 0;
+            for (int c = 0; c < n; c++) {
+                if (component[c] != c || parent[c] == c) {
+                    continue;
+                }
+                int d = parent[c];
+                counter.add(UNION, 1); // Component check
+                if (parent[d] == c && d < c) {
+                    continue; // Already taken from the other side
+                }
+                int e = (int) best.get(c);
+                treeVertex[mstEdges.size()] = graph.getEdgeFrom(e);
+                treeWeight[mstEdges.size()] = graph.getEdgeWeight(e);
+                mstEdges.add(graph.toEdge(graph.getEdgeFrom(e), graph.getEdgeTo(e), graph.getEdgeWeight(e)));
+                totalCost += graph.getEdgeWeight(e);
+                counter.add(OTHER, 2); // Add edge and update cost
+                added++;
+            }
+            if (added == 0) {
+                break; // Remaining components are disconnected from each other
+            }
+
+            // Phase 3: break the mutual 2-cycles so every hook tree has exactly one root
+            ParallelLoops.parallelFor(pool, 0, n, (from, to) -> {
+                for (int c = from; c < to; c++) {
+                    int d = parent[c];
+                    if (d != c && parent[d] == c && c < d) {
+                        parent[c] = c;
+                    }
+                }
+            });
+
+            // Phase 4: contract components by pointer jumping. Each round every entry skips to its
+            // grandparent, so a hook chain of length L reaches its root in O(log L) rounds
+            int[] hooks = parent;
+            int[] jumped = nextComponent;
+            AtomicBoolean changed = new AtomicBoolean(true);
+            while (changed.get()) {
+                changed.set(false);
+                final int[] source = hooks;
+                final int[] target = jumped;
+                ParallelLoops.parallelFor(pool, 0, n, (from, to) -> {
+                    boolean moved = false;
+                    for (int c = from; c < to; c++) {
+                        int p = source[c];
+                        int grandparent = source[p];
+                        target[c] = grandparent;
+                        moved |= grandparent != p;
+                    }
+                    if (moved) {
+                        changed.set(true);
+                    }
+                });
+                counter.add(OTHER, n); // Pointer jumps
+                hooks = target;
+                jumped = source;
+            }
+            final int[] roots = hooks;
+            ParallelLoops.parallelFor(pool, 0, n, (from, to) -> {
+                for (int v = from; v < to; v++) {
+                    component[v] = roots[component[v]];
+                }
+            });
+            counter.add(OTHER, n); // Relabel vertices
+
+            // Phase 5: drop edges that now lie inside a single component
+            activeCount = ParallelLoops.filter(pool, edges, 0, edgeCount, buffer, 0,
+                e -> component[graph.getEdgeFrom(e)] != component[graph.getEdgeTo(e)]);
+            active = buffer;
+            buffer = edges;
+        }
+        int[] componentCosts = SpanningForest.componentCosts(n, v -> component[v],
+            treeVertex, treeWeight, mstEdges.size());
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult(mstEdges, totalCost, componentCosts, counter, executionTimeMs);
+    }
+
+    /**
+     * Lowers best[index] to key with a CAS loop.
+     */
+    private static void updateMin(AtomicLongArray best, int index, long key) {
+        long current = best.get(index);
+        while (key < current) {
+            if (best.compareAndSet(index, current, key)) {
+                return;
+            }
+            current = best.get(index);
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.socialnetwork;
+
+import java.util.*;
+
+/**
+ * Integer-indexed view of a weighted undirected graph.
+ * Node names are interned to dense ids 0..V-1 once at construction, edges are kept as
+ * parallel endpoint/weight arrays and adjacency is stored in compressed sparse row (CSR) form:
+ * the neighbours of vertex v are targets[offsets[v]] .. targets[offsets[v + 1] - 1].
+ */
+public class CompactGraph {
+    private final int id;
+    private final String[] names;
+    private final Map<String, Integer> indexByName;
+
+    // Edge list (one entry per undirected edge)
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final int[] edgeWeight;
+
+    // CSR adjacency (two entries per undirected edge)
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final int[] edgeIds;
+
+    /**
+     * Creates a compact graph from interned node names and edge endpoint/weight arrays.
+     * The arrays are used as-is and must not be modified afterwards.
+     */
+    public CompactGraph(int id, String[] names, int[] edgeFrom, int[] edgeTo, int[] edgeWeight) {
+        if (edgeFrom.length != edgeTo.length || edgeFrom.length != edgeWeight.length) {
+            throw new IllegalArgumentException("Edge arrays must have the same length");
+        }
+        this.id = id;
+        this.names = names;
+        this.indexByName = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            indexByName.put(names[i], i);
+        }
+        this.edgeFrom = edgeFrom;
+        this.edgeTo = edgeTo;
+        this.edgeWeight = edgeWeight;
+
+        int n = names.length;
+        int m = edgeFrom.length;
+        this.offsets = new int[n + 1];
+        this.targets = new int[2 * m];
+        this.weights = new int[2 * m];
+        this.edgeIds = new int[2 * m];
+        buildAdjacency(n, m);
+    }
+
+    /**
+     * Builds the compact representation of an existing graph.
+     */
+    public static CompactGraph fromGraph(Graph graph) {
+        List<String> nodes = graph.getNodes();
+        List<Edge> edges = graph.getEdges();
+
+        String[] names = nodes.toArray(new String[0]);
+        Map<String, Integer> index = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            index.put(names[i], i);
+        }
+
+        int m = edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        for (int i = 0; i < m; i++) {
+            Edge edge = edges.get(i);
+            from[i] = index.get(edge.getFrom());
+            to[i] = index.get(edge.getTo());
+            weight[i] = edge.getWeight();
+        }
+
+        return new CompactGraph(graph.getId(), names, from, to, weight);
+    }
+
+    private void buildAdjacency(int n, int m) {
+        // Count degrees
+        for (int e = 0; e < m; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            offsets[edgeTo[e] + 1]++;
+        }
+        // Prefix sums give the start of every row
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        // Scatter both directions of every edge into its row
+        int[] next = Arrays.copyOf(offsets, n);
+        for (int e = 0; e < m; e++) {
+            int u = edgeFrom[e];
+            int v = edgeTo[e];
+            int w = edgeWeight[e];
+
+            int slot = next[u]++;
+            targets[slot] = v;
+            weights[slot] = w;
+            edgeIds[slot] = e;
+
+            slot = next[v]++;
+            targets[slot] = u;
+            weights[slot] = w;
+            edgeIds[slot] = e;
+        }
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    public int getEdgeCount() {
+        return edgeFrom.length;
+    }
+
+    /**
+     * Returns the original name of vertex v.
+     */
+    public String getName(int v) {
+        return names[v];
+    }
+
+    /**
+     * Returns the dense id of the given node name, or -1 if it is not part of the graph.
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index == null ? -1 : index;
+    }
+
+    public int getEdgeFrom(int e) {
+        return edgeFrom[e];
+    }
+
+    public int getEdgeTo(int e) {
+        return edgeTo[e];
+    }
+
+    public int getEdgeWeight(int e) {
+        return edgeWeight[e];
+    }
+
+    /**
+     * Edge weights indexed by edge id, shared with this graph (read-only).
+     */
+    int[] edgeWeights() {
+        return edgeWeight;
+    }
+
+    /**
+     * First adjacency slot of vertex v.
+     */
+    public int adjacencyStart(int v) {
+        return offsets[v];
+    }
+
+    /**
+     * One past the last adjacency slot of vertex v.
+     */
+    public int adjacencyEnd(int v) {
+        return offsets[v + 1];
+    }
+
+    public int getTarget(int slot) {
+        return targets[slot];
+    }
+
+    public int getWeight(int slot) {
+        return weights[slot];
+    }
+
+    /**
+     * Index of the undirected edge stored in the given adjacency slot.
+     */
+    public int getEdgeId(int slot) {
+        return edgeIds[slot];
+    }
+
+    /**
+     * Creates an Edge object with the original node names, oriented from u to v.
+     */
+    public Edge toEdge(int u, int v, int weight) {
+        return new Edge(names[u], names[v], weight);
+    }
+
+    /**
+     * Converts this graph back to the name-based representation.
+     */
+    public Graph toGraph() {
+        List<Edge> edges = new ArrayList<>(edgeFrom.length);
+        for (int e = 0; e < edgeFrom.length; e++) {
+            edges.add(new Edge(names[edgeFrom[e]], names[edgeTo[e]], edgeWeight[e]));
+        }
+        return new Graph(id, Arrays.asList(names), edges);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactGraph{id=%d, vertices=%d, edges=%d}", id, names.length, edgeFrom.length);
+    }
+}
@@ -0,0 +1,127 @@
+package com.socialnetwork;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free Union-Find over dense integer ids for use from many threads at once.
+ * Parents live in an AtomicIntegerArray. Find never blocks and compacts paths with
+ * best-effort CAS halving; union links one root under the other with a single CAS,
+ * retrying only if another thread changed one of the roots in between.
+ * Roots are linked by a fixed pseudo-random priority, which keeps trees shallow in
+ * expectation without a separate rank array.
+ */
+public class ConcurrentUnionFind implements DisjointSet {
+    private final AtomicIntegerArray parent;
+    private final LongAdder findCount;
+    private final LongAdder unionCount;
+
+    /**
+     * Creates a structure with elements 0..n-1, each in its own set.
+     */
+    public ConcurrentUnionFind(int n) {
+        this.parent = new AtomicIntegerArray(n);
+        for (int i = 0; i < n; i++) {
+            parent.set(i, i);
+        }
+        this.findCount = new LongAdder();
+        this.unionCount = new LongAdder();
+    }
+
+    @Override
+    public int find(int x) {
+        findCount.increment(); // Find operation
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) {
+                return x;
+            }
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                // Path halving; losing the race only means the path stays a bit longer
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+            findCount.increment(); // Path step
+        }
+    }
+
+    @Override
+    public boolean union(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            unionCount.increment(); // Comparison
+            if (rootX == rootY) {
+                return false; // Already in same set
+            }
+
+            // Lower priority root becomes the child
+            if (isLowerPriority(rootY, rootX)) {
+                int tmp = rootX;
+                rootX = rootY;
+                rootY = tmp;
+            }
+            unionCount.increment(); // Link attempt
+            if (parent.compareAndSet(rootX, rootX, rootY)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public boolean connected(int x, int y) {
+        while (true) {
+            int rootX = find(x);
+            int rootY = find(y);
+            if (rootX == rootY) {
+                return true;
+            }
+            // rootX may have been linked after we found it; only a live root proves disjointness
+            if (parent.get(rootX) == rootX) {
+                return false;
+            }
+        }
+    }
+
+    private static boolean isLowerPriority(int a, int b) {
+        int pa = priority(a);
+        int pb = priority(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    /**
+     * Fixed pseudo-random priority of an element (murmur3 finalizer).
+     */
+    private static int priority(int x) {
+        x ^= x >>> 16;
+        x *= 0x85ebca6b;
+        x ^= x >>> 13;
+        x *= 0xc2b2ae35;
+        x ^= x >>> 16;
+        return x;
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    /**
+     * Finds and path steps so far; counted with thread-safe adders rather than an {@link OperationCounter}.
+     */
+    public long getFindCount() {
+        return findCount.sum();
+    }
+
+    /**
+     * Root comparisons and link attempts so far.
+     */
+    public long getUnionCount() {
+        return unionCount.sum();
+    }
+
+    @Override
+    public long getTotalOperations() {
+        return getFindCount() + getUnionCount();
+    }
+}
@@ -0,0 +1,39 @@
+package com.socialnetwork;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Operation counter with one 64-bit total per category.
+ * Not thread-safe; parallel algorithms count per phase on the calling thread.
+ */
+public class CountingOperationCounter implements OperationCounter {
+    private final long[] counts = new long[Category.values().length];
+
+    @Override
+    public void add(Category category, long count) {
+        counts[category.ordinal()] += count;
+    }
+
+    @Override
+    public long get(Category category) {
+        return counts[category.ordinal()];
+    }
+
+    @Override
+    public void reset() {
+        Arrays.fill(counts, 0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("OperationCounts{");
+        for (Category category : Category.values()) {
+            if (category.ordinal() > 0) {
+                sb.append(", ");
+            }
+            sb.append(category.name().toLowerCase(Locale.ROOT)).append('=').append(get(category));
+        }
+        return sb.append('}').toString();
+    }
+}
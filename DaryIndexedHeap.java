@@ -0,0 +1,169 @@
+package com.socialnetwork;
+
+import static com.socialnetwork.OperationCounter.Category.*;
+
+import java.util.Arrays;
+
+/**
+ * Array-based d-ary indexed min-heap.
+ * Arity 2 gives the classic binary heap; arity 4 halves the tree height,
+ * which makes decrease-key cheaper at the cost of wider sift-downs.
+ */
+public class DaryIndexedHeap implements IndexedMinHeap {
+    private final int arity;
+    private final int[] heap;      // heap position -> item
+    private final int[] position;  // item -> heap position, -1 if absent
+    private final int[] keys;      // item -> key
+    private int size;
+    private final OperationCounter counter;
+
+    public DaryIndexedHeap(int arity, int capacity) {
+        this(arity, capacity, OperationCounter.counting());
+    }
+
+    /**
+     * @param counter Counter that receives the heap operations
+     */
+    public DaryIndexedHeap(int arity, int capacity, OperationCounter counter) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        this.arity = arity;
+        this.heap = new int[capacity];
+        this.position = new int[capacity];
+        this.keys = new int[capacity];
+        Arrays.fill(position, -1);
+        this.counter = counter;
+    }
+
+    @Override
+    public void insert(int item, int key) {
+        if (position[item] != -1) {
+            throw new IllegalStateException("Item already in heap: " + item);
+        }
+        keys[item] = key;
+        heap[size] = item;
+        position[item] = size;
+        size++;
+        counter.add(HEAP, 1); // Append
+        siftUp(size - 1);
+    }
+
+    @Override
+    public void decreaseKey(int item, int key) {
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("New key is larger than current key");
+        }
+        keys[item] = key;
+        counter.add(HEAP, 1); // Update key
+        siftUp(position[item]);
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return position[item] != -1;
+    }
+
+    @Override
+    public int keyOf(int item) {
+        return keys[item];
+    }
+
+    @Override
+    public int extractMin() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        counter.add(HEAP, 1); // Remove root
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int item = heap[i];
+        int key = keys[item];
+        while (i > 0) {
+            int parent = (i - 1) / arity;
+            counter.add(HEAP, 1); // Comparison
+            if (keys[heap[parent]] <= key) {
+                break;
+            }
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+    private void siftDown(int i) {
+        int item = heap[i];
+        int key = keys[item];
+        while (true) {
+            int first = i * arity + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + arity, size);
+            int best = first;
+            for (int c = first + 1; c < last; c++) {
+                counter.add(HEAP, 1); // Child comparison
+                if (keys[heap[c]] < keys[heap[best]]) {
+                    best = c;
+                }
+            }
+            counter.add(HEAP, 1); // Comparison with parent
+            if (key <= keys[heap[best]]) {
+                break;
+            }
+            heap[i] = heap[best];
+            position[heap[i]] = i;
+            i = best;
+        }
+        heap[i] = item;
+        position[item] = i;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+
+    /**
+     * Number of items (0..capacity-1) this heap can hold.
+     */
+    public int getCapacity() {
+        return position.length;
+    }
+
+    /**
+     * Removes all items so the heap can be reused; only the slots still in use are touched.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    @Override
+    public long getTotalOperations() {
+        return counter.getTotal();
+    }
+}
@@ -0,0 +1,34 @@
+package com.socialnetwork;
+
+/**
+ * Disjoint-set operations over dense integer ids, shared by the sequential and
+ * concurrent Union-Find implementations.
+ */
+public interface DisjointSet {
+
+    /**
+     * Finds the representative (root) of the set containing x.
+     */
+    int find(int x);
+
+    /**
+     * Unites the sets containing x and y.
+     * @return true if union was performed, false if already in same set
+     */
+    boolean union(int x, int y);
+
+    boolean connected(int x, int y);
+
+    /**
+     * Total of the operation counter this structure reports to, capped at Integer.MAX_VALUE.
+     * @see #getTotalOperations()
+     */
+    default int getOperationsCount() {
+        return (int) Math.min(getTotalOperations(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Total of the operation counter this structure reports to.
+     */
+    long getTotalOperations();
+}
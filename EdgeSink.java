@@ -0,0 +1,14 @@
+package com.socialnetwork;
+
+import java.io.IOException;
+
+/**
+ * Receives the edges of one graph in blocks of parallel endpoint/weight arrays,
+ * so producers can hand over edges as they are generated.
+ */
+public interface EdgeSink {
+    /**
+     * Appends the first count edges of the given arrays. The arrays may be reused by the caller afterwards.
+     */
+    void put(int[] from, int[] to, int[] weight, int count) throws IOException;
+}
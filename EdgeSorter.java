@@ -0,0 +1,134 @@
+package com.socialnetwork;
+
+import java.util.Arrays;
+
+/**
+ * Sorts edge ids by weight without boxing or Edge objects.
+ * Small weight ranges (such as the 1..100 costs from {@link GraphGenerator}) use a stable
+ * counting sort; anything else sorts packed (weight << 32 | edgeId) long keys, in parallel
+ * for large inputs. Ties are always broken by edge id, so the order is deterministic.
+ */
+public class EdgeSorter {
+    /** Largest weight range handled by counting sort. */
+    static final int COUNTING_SORT_MAX_RANGE = 1 << 16;
+    /** Input size from which packed keys are sorted with Arrays.parallelSort. */
+    static final int PARALLEL_SORT_THRESHOLD = 1 << 17;
+
+    /**
+     * Returns the ids 0..weights.length-1 ordered by weight.
+     */
+    public static int[] sortedOrder(int[] weights) {
+        int[] ids = new int[weights.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        sortByWeight(ids, 0, ids.length, weights);
+        return ids;
+    }
+
+    /**
+     * Sorts edgeIds[from, to) in place by weights[edgeId].
+     * Ascending ids stay in ascending order among edges of equal weight.
+     */
+    public static void sortByWeight(int[] edgeIds, int from, int to, int[] weights) {
+        sortByWeight(edgeIds, from, to, weights, null);
+    }
+
+    /**
+     * Same as above, taking the scratch space from the given buffers instead of allocating it.
+     * @param buffers Reusable scratch arrays, or null to allocate them for this call
+     */
+    public static void sortByWeight(int[] edgeIds, int from, int to, int[] weights, Buffers buffers) {
+        int length = to - from;
+        if (length < 2) {
+            return;
+        }
+
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            int w = weights[edgeIds[i]];
+            if (w < min) min = w;
+            if (w > max) max = w;
+        }
+
+        long range = (long) max - min + 1;
+        if (range <= COUNTING_SORT_MAX_RANGE && range <= 2L * length + 256) {
+            countingSort(edgeIds, from, to, weights, min, (int) range, buffers);
+        } else {
+            packedKeySort(edgeIds, from, to, weights, buffers);
+        }
+    }
+
+    private static void countingSort(int[] edgeIds, int from, int to, int[] weights, int min, int range,
+                                     Buffers buffers) {
+        int[] starts = buffers == null ? new int[range + 1] : buffers.starts(range + 1);
+        for (int i = from; i < to; i++) {
+            starts[weights[edgeIds[i]] - min + 1]++;
+        }
+        for (int b = 0; b < range; b++) {
+            starts[b + 1] += starts[b];
+        }
+
+        // Stable scatter keeps the input order inside every weight bucket
+        int[] sorted = buffers == null ? new int[to - from] : buffers.ids(to - from);
+        for (int i = from; i < to; i++) {
+            int id = edgeIds[i];
+            sorted[starts[weights[id] - min]++] = id;
+        }
+        System.arraycopy(sorted, 0, edgeIds, from, to - from);
+    }
+
+    private static void packedKeySort(int[] edgeIds, int from, int to, int[] weights, Buffers buffers) {
+        int length = to - from;
+        long[] keys = buffers == null ? new long[length] : buffers.keys(length);
+        for (int i = 0; i < length; i++) {
+            int id = edgeIds[from + i];
+            keys[i] = ((long) weights[id] << 32) | id;
+        }
+        if (length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(keys, 0, length);
+        } else {
+            Arrays.sort(keys, 0, length);
+        }
+        for (int i = 0; i < length; i++) {
+            edgeIds[from + i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Scratch arrays kept between sorts, so repeated sorts of similar sizes stop allocating.
+     * Not thread-safe; use one instance per thread.
+     */
+    public static final class Buffers {
+        private int[] starts = new int[0];
+        private int[] ids = new int[0];
+        private long[] keys = new long[0];
+
+        /**
+         * Zeroed bucket array of at least the given length.
+         */
+        int[] starts(int length) {
+            if (starts.length < length) {
+                starts = new int[length];
+            } else {
+                Arrays.fill(starts, 0, length, 0);
+            }
+            return starts;
+        }
+
+        int[] ids(int length) {
+            if (ids.length < length) {
+                ids = new int[length];
+            }
+            return ids;
+        }
+
+        long[] keys(int length) {
+            if (keys.length < length) {
+                keys = new long[length];
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.socialnetwork;
+
+import static com.socialnetwork.OperationCounter.Category.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * External-memory variant of Kruskal's algorithm for edge sets larger than the heap.
+ * Edges are buffered up to a fixed run size, sorted and spilled to temporary files as
+ * (weight, from, to) records; the sorted runs are then k-way merged in weight order and
+ * fed through an {@link IntUnionFind}. Heap usage is O(V + run size), independent of E.
+ */
+public class ExternalKruskal implements Closeable {
+    private static final int RECORD_BYTES = 3 * Integer.BYTES;
+    private static final int READ_BUFFER_BYTES = 1 << 16;
+
+    private final long startTime;
+    private final String[] names;
+    private final Path tempDirectory;
+    private final int[] runFrom;
+    private final int[] runTo;
+    private final int[] runWeight;
+    private final int[] runOrder;
+    private final List<Path> runs;
+    private int buffered;
+    private long edgeCount;
+    private final OperationCounter counter;
+
+    /**
+     * @param names Node names indexed by dense vertex id
+     * @param tempDirectory Directory for the sorted run files
+     * @param runCapacity Number of edges held in memory before a run is spilled
+     */
+    public ExternalKruskal(String[] names, Path tempDirectory, int runCapacity) {
+        this(names, tempDirectory, runCapacity, OperationCounter.counting());
+    }
+
+    /**
+     * @param names Node names indexed by dense vertex id
+     * @param tempDirectory Directory for the sorted run files
+     * @param runCapacity Number of edges held in memory before a run is spilled
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     */
+    public ExternalKruskal(String[] names, Path tempDirectory, int runCapacity, OperationCounter counter) {
+        if (runCapacity < 1) {
+            throw new IllegalArgumentException("Run capacity must be positive");
+        }
+        this.startTime = System.nanoTime();
+        this.names = names;
+        this.tempDirectory = tempDirectory;
+        this.runFrom = new int[runCapacity];
+        this.runTo = new int[runCapacity];
+        this.runWeight = new int[runCapacity];
+        this.runOrder = new int[runCapacity];
+        this.runs = new ArrayList<>();
+        this.counter = counter;
+    }
+
+    /**
+     * Finds MST of an in-memory graph through the external-memory path.
+     */
+    public static MSTResult findMST(CompactGraph graph, Path tempDirectory, int runCapacity) throws IOException {
+        String[] names = new String[graph.getVertexCount()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = graph.getName(v);
+        }
+        try (ExternalKruskal kruskal = new ExternalKruskal(names, tempDirectory, runCapacity)) {
+            for (int e = 0; e < graph.getEdgeCount(); e++) {
+                kruskal.addEdge(graph.getEdgeFrom(e), graph.getEdgeTo(e), graph.getEdgeWeight(e));
+            }
+            return kruskal.finish();
+        }
+    }
+
+    /**
+     * Finds MSTs of every graph in a binary graph file, reading edges from the memory mapping
+     * so that only node names and per-vertex state are held on the heap.
+     */
+    public static List<MSTResult> findMSTs(String binaryFile, Path tempDirectory, int runCapacity) throws IOException {
+        List<MSTResult> results = new ArrayList<>();
+        BinaryGraphFormat.visitGraphs(binaryFile, (id, names, from, to, weight) -> {
+            try (ExternalKruskal kruskal = new ExternalKruskal(names, tempDirectory, runCapacity)) {
+                while (from.hasRemaining()) {
+                    kruskal.addEdge(from.get(), to.get(), weight.get());
+                }
+                results.add(kruskal.finish());
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Adds an edge, spilling a sorted run to disk whenever the buffer is full.
+     */
+    public void addEdge(int from, int to, int weight) throws IOException {
+        if (buffered == runFrom.length) {
+            spillRun();
+        }
+        runFrom[buffered] = from;
+        runTo[buffered] = to;
+        runWeight[buffered] = weight;
+        buffered++;
+        edgeCount++;
+    }
+
+    private void spillRun() throws IOException {
+        sortBuffer();
+        Path run = Files.createTempFile(tempDirectory, "kruskal-run-", ".bin");
+        runs.add(run);
+        try (BinaryChannelWriter out = new BinaryChannelWriter(run)) {
+            for (int i = 0; i < buffered; i++) {
+                int e = runOrder[i];
+                out.putInt(runWeight[e]);
+                out.putInt(runFrom[e]);
+                out.putInt(runTo[e]);
+            }
+        }
+        buffered = 0;
+    }
+
+    private void sortBuffer() {
+        for (int i = 0; i < buffered; i++) {
+            runOrder[i] = i;
+        }
+        EdgeSorter.sortByWeight(runOrder, 0, buffered, runWeight);
+        if (buffered > 1) {
+            counter.add(SORT, (long) buffered * (int)(Math.log(buffered) / Math.log(2))); // Sorting operations estimate
+        }
+    }
+
+    /**
+     * Merges all runs in weight order and returns the minimum spanning tree (or forest).
+     */
+    public MSTResult finish() throws IOException {
+        int n = names.length;
+        IntUnionFind uf = new IntUnionFind(n, counter);
+        counter.add(OTHER, n); // makeSet operations
+        List<Edge> mstEdges = new ArrayList<>(Math.max(0, n - 1));
+        int[] treeVertex = new int[Math.max(0, n - 1)];
+        int[] treeWeight = new int[Math.max(0, n - 1)];
+        int totalCost = 0;
+
+        if (runs.isEmpty()) {
+            // Everything fits in memory: a single sorted run, no files needed
+            sortBuffer();
+            for (int i = 0; i < buffered && mstEdges.size() < n - 1; i++) {
+                int e = runOrder[i];
+                counter.add(EDGE_SCAN, 1); // Edge iteration
+                if (uf.union(runFrom[e], runTo[e])) {
+                    treeVertex[mstEdges.size()] = runFrom[e];
+                    treeWeight[mstEdges.size()] = runWeight[e];
+                    mstEdges.add(new Edge(names[runFrom[e]], names[runTo[e]], runWeight[e]));
+                    totalCost += runWeight[e];
+                    counter.add(OTHER, 2); // Add edge and update cost
+                }
+            }
+        } else {
+            if (buffered > 0) {
+                spillRun();
+            }
+            List<RunReader> readers = new ArrayList<>(runs.size());
+            try {
+                for (Path run : runs) {
+                    readers.add(new RunReader(run));
+                }
+                // Min-heap of (weight, run index) keys over the current head of every run
+                long[] heap = new long[readers.size()];
+                int heapSize = 0;
+                for (int r = 0; r < readers.size(); r++) {
+                    if (readers.get(r).advance()) {
+                        heapSize = heapPush(heap, heapSize, headKey(readers.get(r), r));
+                    }
+                }
+
+                while (heapSize > 0 && mstEdges.size() < n - 1) {
+                    int r = (int) heap[0];
+                    RunReader reader = readers.get(r);
+                    counter.add(HEAP, 1); // Heap pop
+                    counter.add(EDGE_SCAN, 1); // Edge iteration
+                    if (uf.union(reader.from, reader.to)) {
+                        treeVertex[mstEdges.size()] = reader.from;
+                        treeWeight[mstEdges.size()] = reader.weight;
+                        mstEdges.add(new Edge(names[reader.from], names[reader.to], reader.weight));
+                        totalCost += reader.weight;
+                        counter.add(OTHER, 2); // Add edge and update cost
+                    }
+                    heapSize = reader.advance()
+                        ? heapReplaceTop(heap, heapSize, headKey(reader, r))
+                        : heapPopTop(heap, heapSize);
+                }
+            } finally {
+                for (RunReader reader : readers) {
+                    reader.close();
+                }
+                deleteRuns();
+            }
+        }
+
+        buffered = 0;
+        int[] componentCosts = SpanningForest.componentCosts(n, uf::find, treeVertex, treeWeight, mstEdges.size());
+
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+
+        return new MSTResult(mstEdges, totalCost, componentCosts, counter, executionTimeMs);
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    private static long headKey(RunReader reader, int run) {
+        return ((long) reader.weight << 32) | run;
+    }
+
+    private static int heapPush(long[] heap, int size, long key) {
+        int i = size;
+        while (i > 0 && heap[(i - 1) >>> 1] > key) {
+            heap[i] = heap[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+        }
+        heap[i] = key;
+        return size + 1;
+    }
+
+    private static int heapPopTop(long[] heap, int size) {
+        return size == 1 ? 0 : heapReplaceTop(heap, size - 1, heap[size - 1]);
+    }
+
+    private static int heapReplaceTop(long[] heap, int size, long key) {
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = key;
+        return size;
+    }
+
+    private void deleteRuns() throws IOException {
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        runs.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        deleteRuns();
+    }
+
+    /**
+     * Sequential reader of (weight, from, to) records from one sorted run.
+     */
+    private static class RunReader implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        int weight;
+        int from;
+        int to;
+
+        RunReader(Path run) throws IOException {
+            this.channel = FileChannel.open(run, StandardOpenOption.READ);
+            this.buffer = ByteBuffer.allocateDirect(READ_BUFFER_BYTES - READ_BUFFER_BYTES % RECORD_BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+            this.buffer.limit(0);
+        }
+
+        /**
+         * Moves to the next record.
+         * @return false at the end of the run
+         */
+        boolean advance() throws IOException {
+            if (buffer.remaining() < RECORD_BYTES) {
+                buffer.compact();
+                while (buffer.position() < RECORD_BYTES && channel.read(buffer) > 0) {
+                    // Keep reading until a whole record is available
+                }
+                buffer.flip();
+                if (buffer.remaining() < RECORD_BYTES) {
+                    return false;
+                }
+            }
+            weight = buffer.getInt();
+            from = buffer.getInt();
+            to = buffer.getInt();
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
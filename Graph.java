@@ -11,15 +11,31 @@ public class Graph {
     private final List<String> nodes;
     private final List<Edge> edges;
     private final Map<String, List<Edge>> adjacencyList;
+    private CompactGraph compactGraph;
 
     public Graph(int id, List<String> nodes, List<Edge> edges) {
+        this(id, nodes, edges, false);
+    }
+
+    /**
+     * @param owned True if the lists are handed over by the caller, false to take private copies
+     */
+    private Graph(int id, List<String> nodes, List<Edge> edges, boolean owned) {
         this.id = id;
-        this.nodes = new ArrayList<>(nodes);
-        this.edges = new ArrayList<>(edges);
+        this.nodes = owned ? nodes : new ArrayList<>(nodes);
+        this.edges = owned ? edges : new ArrayList<>(edges);
         this.adjacencyList = new HashMap<>();
         buildAdjacencyList();
     }
 
+    /**
+     * Creates a graph that takes ownership of the given lists instead of copying them.
+     * Used by readers that build the lists themselves and never touch them again.
+     */
+    static Graph wrap(int id, List<String> nodes, List<Edge> edges) {
+        return new Graph(id, nodes, edges, true);
+    }
+
     private void buildAdjacencyList() {
         // Initialize adjacency list for all nodes
         for (String node : nodes) {
@@ -50,6 +66,16 @@ public class Graph {
         return adjacencyList;
     }
 
+    /**
+     * Returns the integer-indexed CSR view of this graph, building it on first use.
+     */
+    public synchronized CompactGraph getCompactGraph() {
+        if (compactGraph == null) {
+            compactGraph = CompactGraph.fromGraph(this);
+        }
+        return compactGraph;
+    }
+
     public int getVertexCount() {
         return nodes.size();
     }
@@ -1,7 +1,7 @@
 package com.socialnetwork;
 
-import com.google.gson.*;
 import java.io.*;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -72,9 +72,39 @@ public class GraphGenerator {
 
     /**
      * Generates complete test dataset with graphs of all required sizes.
+     * Every graph is written as soon as it is generated, so only one is held in memory.
      */
     public static void generateTestDataset(String filename) throws IOException {
-        List<Graph> allGraphs = new ArrayList<>();
+        int count;
+        try (JsonGraphWriter writer = JsonGraphWriter.open(filename, false)) {
+            count = generateTestGraphs(writer::write);
+        }
+        System.out.println("Generated " + count + " graphs and saved to " + filename);
+    }
+
+    /**
+     * Generates the same test dataset and saves it in the binary graph format.
+     */
+    public static void generateTestDatasetBinary(String filename) throws IOException {
+        int count;
+        try (BinaryGraphFormat.Writer writer = new BinaryGraphFormat.Writer(Paths.get(filename))) {
+            count = generateTestGraphs(graph -> writer.write(graph.getCompactGraph()));
+        }
+        System.out.println("Generated " + count + " graphs and saved to " + filename);
+    }
+
+    /**
+     * Receives every graph of the test dataset as it is generated.
+     */
+    private interface GraphConsumer {
+        void accept(Graph graph) throws IOException;
+    }
+
+    /**
+     * Generates the graphs of the test dataset: 5 small, 10 medium, 10 large and 3 extra large.
+     * @return Number of graphs generated
+     */
+    private static int generateTestGraphs(GraphConsumer out) throws IOException {
         int graphId = 1;
         
         System.out.println("Generating test datasets...");
@@ -84,7 +114,7 @@ public class GraphGenerator {
         for (int i = 0; i < 5; i++) {
             int nodes = 25 + random.nextInt(11); // 25-35 nodes
             double density = 0.2 + random.nextDouble() * 0.3; // 0.2-0.5 density
-            allGraphs.add(generateGraph(graphId++, nodes, density));
+            out.accept(generateGraph(graphId++, nodes, density));
         }
         
         // Medium graphs: 10 graphs with ~300 nodes
@@ -92,7 +122,7 @@ public class GraphGenerator {
         for (int i = 0; i < 10; i++) {
             int nodes = 280 + random.nextInt(41); // 280-320 nodes
             double density = 0.1 + random.nextDouble() * 0.2; // 0.1-0.3 density
-            allGraphs.add(generateGraph(graphId++, nodes, density));
+            out.accept(generateGraph(graphId++, nodes, density));
         }
         
         // Large graphs: 10 graphs with ~1000 nodes
@@ -100,59 +130,15 @@ public class GraphGenerator {
         for (int i = 0; i < 10; i++) {
             int nodes = 950 + random.nextInt(101); // 950-1050 nodes
             double density = 0.05 + random.nextDouble() * 0.1; // 0.05-0.15 density
-            allGraphs.add(generateGraph(graphId++, nodes, density));
+            out.accept(generateGraph(graphId++, nodes, density));
         }
         
         // Extra large graphs: 3 graphs with 1300, 1600, 2000 nodes
         System.out.println("Generating extra large graphs (3 graphs: 1300, 1600, 2000 nodes)...");
-        allGraphs.add(generateGraph(graphId++, 1300, 0.05));
-        allGraphs.add(generateGraph(graphId++, 1600, 0.04));
-        allGraphs.add(generateGraph(graphId++, 2000, 0.03));
+        out.accept(generateGraph(graphId++, 1300, 0.05));
+        out.accept(generateGraph(graphId++, 1600, 0.04));
+        out.accept(generateGraph(graphId++, 2000, 0.03));
         
-        // Write all graphs to single JSON file
-        writeGraphsToJSON(allGraphs, filename);
-        System.out.println("Generated " + allGraphs.size() + " graphs and saved to " + filename);
-    }
-
-    /**
-     * Writes list of graphs to JSON file.
-     */
-    private static void writeGraphsToJSON(List<Graph> graphs, String filename) throws IOException {
-        JsonObject root = new JsonObject();
-        JsonArray graphsArray = new JsonArray();
-        
-        for (Graph graph : graphs) {
-            JsonObject graphObj = new JsonObject();
-            graphObj.addProperty("id", graph.getId());
-            
-            // Add nodes
-            JsonArray nodesArray = new JsonArray();
-            for (String node : graph.getNodes()) {
-                nodesArray.add(node);
-            }
-            graphObj.add("nodes", nodesArray);
-            
-            // Add edges
-            JsonArray edgesArray = new JsonArray();
-            for (Edge edge : graph.getEdges()) {
-                JsonObject edgeObj = new JsonObject();
-                edgeObj.addProperty("from", edge.getFrom());
-                edgeObj.addProperty("to", edge.getTo());
-                edgeObj.addProperty("weight", edge.getWeight());
-                edgesArray.add(edgeObj);
-            }
-            graphObj.add("edges", edgesArray);
-            
-            graphsArray.add(graphObj);
-        }
-        
-        root.add("graphs", graphsArray);
-        
-        // Write to file with pretty printing
-        Gson gson = new GsonBuilder().setPrettyPrinting().create();
-        try (FileWriter writer = new FileWriter(filename)) {
-            gson.toJson(root, writer);
-        }
+        return graphId - 1;
     }
 }
-
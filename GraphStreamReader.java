@@ -0,0 +1,154 @@
+package com.socialnetwork;
+
+import com.google.gson.stream.JsonReader;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Reads graphs from the assignment's JSON input format one at a time.
+ * Only the graph currently being parsed is held in memory, so files with many
+ * large graphs load in bounded memory and processing can start after the first graph.
+ */
+public class GraphStreamReader implements Iterator<Graph>, Closeable {
+    private final JsonReader reader;
+    private boolean inGraphsArray;
+    private boolean finished;
+
+    public GraphStreamReader(Reader input) {
+        this.reader = new JsonReader(input);
+    }
+
+    public static GraphStreamReader open(String filename) throws IOException {
+        return new GraphStreamReader(Files.newBufferedReader(Paths.get(filename), StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            if (finished) {
+                return false;
+            }
+            if (!inGraphsArray && !seekGraphsArray()) {
+                finished = true;
+                return false;
+            }
+            if (!reader.hasNext()) {
+                reader.endArray();
+                finished = true;
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Graph next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return readGraph();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Advances to the first element of the top-level "graphs" array.
+     * @return false if the document has no such array
+     */
+    private boolean seekGraphsArray() throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("graphs")) {
+                reader.beginArray();
+                inGraphsArray = true;
+                return true;
+            }
+            reader.skipValue();
+        }
+        reader.endObject();
+        return false;
+    }
+
+    private Graph readGraph() throws IOException {
+        int id = 0;
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        // Edge endpoints share the node name instances instead of keeping a copy per edge
+        Map<String, String> canonicalNames = new HashMap<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id":
+                    id = reader.nextInt();
+                    break;
+                case "nodes":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        String node = reader.nextString();
+                        nodes.add(node);
+                        canonicalNames.put(node, node);
+                    }
+                    reader.endArray();
+                    break;
+                case "edges":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        edges.add(readEdge(canonicalNames));
+                    }
+                    reader.endArray();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return Graph.wrap(id, nodes, edges);
+    }
+
+    private Edge readEdge(Map<String, String> canonicalNames) throws IOException {
+        String from = null;
+        String to = null;
+        int weight = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "from":
+                    from = canonical(reader.nextString(), canonicalNames);
+                    break;
+                case "to":
+                    to = canonical(reader.nextString(), canonicalNames);
+                    break;
+                case "weight":
+                    weight = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (from == null || to == null) {
+            throw new IOException("Edge without endpoints at " + reader.getPath());
+        }
+        return new Edge(from, to, weight);
+    }
+
+    private static String canonical(String name, Map<String, String> canonicalNames) {
+        String existing = canonicalNames.putIfAbsent(name, name);
+        return existing == null ? name : existing;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
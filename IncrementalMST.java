@@ -0,0 +1,513 @@
+package com.socialnetwork;
+
+import java.util.*;
+
+/**
+ * Minimum spanning tree (or forest) that is repaired locally after each edge insertion,
+ * deletion or weight change, instead of being rebuilt from a new graph.
+ * All graph edges are kept, split into tree and non-tree edges, each with its own per-vertex
+ * incidence lists. At most one edge is kept per vertex pair.
+ * <ul>
+ *   <li>A new or cheaper edge (u, v) replaces the heaviest edge on the tree path between u and v
+ *       if it is lighter: one O(V) walk over the tree.</li>
+ *   <li>Removing or raising a tree edge splits the tree in two. Both halves are explored in lock
+ *       step until the smaller half S is fully visited, and every non-tree edge incident to S is
+ *       checked for the cheapest one that reconnects the tree: O(V + non-tree degree of S), which
+ *       is O(V + E) in the worst case.</li>
+ * </ul>
+ * This is not a fully dynamic MST in the sense of Holm, de Lichtenberg and Thorup: there are no
+ * Euler-tour or link-cut trees, and no update is guaranteed to be polylogarithmic. The worst
+ * case of a deletion is no better than re-running Kruskal on a presorted edge list. The repair
+ * pays off when updates touch a small side of the cut or few non-tree edges, and it returns
+ * the changed tree edges as an {@link MSTUpdate} diff either way.
+ */
+public class IncrementalMST {
+    private static final int NONE = -1;
+    private static final byte FREE = 0;
+    private static final byte TREE = 1;
+    private static final byte NON_TREE = 2;
+
+    private final Map<String, Integer> ids;
+    private final List<String> names;
+
+    // Edges in slots, recycled through a free list
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeWeight;
+    private byte[] edgeState;
+    private int edgeSlots;
+    private final Deque<Integer> freeSlots;
+    private final Map<Long, Integer> edgeByPair;
+
+    // Per-vertex lists of incident edge slots
+    private final IncidenceLists treeEdges;
+    private final IncidenceLists nonTreeEdges;
+
+    // Scratch space for tree searches
+    private int[] parentEdge;
+    private int[] visitStamp;
+    private int[] queue;
+    private int[] otherQueue;
+    private int stamp;
+
+    private int treeEdgeCount;
+    private long totalCost;
+
+    /**
+     * Seeds the structure with a computed MST of a graph over the given nodes.
+     * Only the tree edges are known, so a removed tree edge can only be replaced by edges
+     * inserted afterwards.
+     */
+    public IncrementalMST(List<String> nodes, MSTResult mst) {
+        this.ids = new HashMap<>(nodes.size() * 2);
+        this.names = new ArrayList<>(nodes.size());
+        int capacity = Math.max(nodes.size(), 1);
+        this.edgeFrom = new int[capacity];
+        this.edgeTo = new int[capacity];
+        this.edgeWeight = new int[capacity];
+        this.edgeState = new byte[capacity];
+        this.freeSlots = new ArrayDeque<>();
+        this.edgeByPair = new HashMap<>(capacity * 2);
+        this.treeEdges = new IncidenceLists(capacity);
+        this.nonTreeEdges = new IncidenceLists(capacity);
+        this.parentEdge = new int[capacity];
+        this.visitStamp = new int[capacity];
+        this.queue = new int[capacity];
+        this.otherQueue = new int[capacity];
+
+        for (String node : nodes) {
+            vertexId(node);
+        }
+        for (Edge edge : mst.getMstEdges()) {
+            int u = vertexId(edge.getFrom());
+            int v = vertexId(edge.getTo());
+            link(newSlot(u, v, edge.getWeight()));
+        }
+    }
+
+    /**
+     * Seeds the structure with a graph and an MST computed on it.
+     * The remaining graph edges become the candidates for replacing removed tree edges.
+     */
+    public IncrementalMST(Graph graph, MSTResult mst) {
+        this(graph.getNodes(), mst);
+        for (Edge edge : graph.getEdges()) {
+            int u = vertexId(edge.getFrom());
+            int v = vertexId(edge.getTo());
+            if (u == v) {
+                continue;
+            }
+            Integer existing = edgeByPair.get(pairKey(u, v));
+            if (existing == null) {
+                demote(newSlot(u, v, edge.getWeight()));
+            } else if (edgeState[existing] == NON_TREE && edge.getWeight() < edgeWeight[existing]) {
+                edgeWeight[existing] = edge.getWeight(); // Keep the cheapest parallel edge
+            }
+        }
+    }
+
+    /**
+     * Adds a new edge (road) to the graph. An edge already present between the same
+     * vertices is replaced when the new one is cheaper.
+     * @return The tree edges that changed; empty if the new edge does not enter the MST
+     */
+    public MSTUpdate insertEdge(String from, String to, int weight) {
+        int u = vertexId(from);
+        int v = vertexId(to);
+        if (u == v) {
+            return MSTUpdate.none();
+        }
+
+        Integer existing = edgeByPair.get(pairKey(u, v));
+        if (existing != null) {
+            return weight < edgeWeight[existing] ? decreaseWeight(from, to, weight) : MSTUpdate.none();
+        }
+
+        int slot = newSlot(u, v, weight);
+        demote(slot);
+        return offer(slot);
+    }
+
+    /**
+     * Lowers the weight of an edge (road got cheaper).
+     * Lowering a tree edge keeps the tree optimal; lowering a non-tree edge may swap it in.
+     * An edge that does not exist yet is inserted.
+     * @return The tree edges that changed
+     */
+    public MSTUpdate decreaseWeight(String from, String to, int newWeight) {
+        Integer slot = edgeByPair.get(pairKey(vertexId(from), vertexId(to)));
+        if (slot == null) {
+            return insertEdge(from, to, newWeight);
+        }
+        if (newWeight > edgeWeight[slot]) {
+            throw new IllegalArgumentException("New weight " + newWeight + " is larger than current weight "
+                + edgeWeight[slot] + " of " + from + "-" + to);
+        }
+
+        if (edgeState[slot] == TREE) {
+            Edge removed = toEdge(slot);
+            totalCost -= edgeWeight[slot] - newWeight;
+            edgeWeight[slot] = newWeight;
+            return MSTUpdate.of(toEdge(slot), removed);
+        }
+        edgeWeight[slot] = newWeight;
+        return offer(slot);
+    }
+
+    /**
+     * Removes an edge (road closure).
+     * @return The tree edges that changed; empty if the edge was not part of the MST
+     */
+    public MSTUpdate deleteEdge(String from, String to) {
+        int slot = existingSlot(from, to);
+        if (edgeState[slot] == NON_TREE) {
+            nonTreeEdges.remove(edgeFrom[slot], slot);
+            nonTreeEdges.remove(edgeTo[slot], slot);
+            release(slot);
+            return MSTUpdate.none();
+        }
+
+        int u = edgeFrom[slot];
+        int v = edgeTo[slot];
+        Edge removed = toEdge(slot);
+        cut(slot);
+        release(slot);
+        int replacement = findReplacement(u, v);
+        if (replacement == NONE) {
+            return MSTUpdate.of(null, removed); // The tree falls apart into two components
+        }
+        nonTreeEdges.remove(edgeFrom[replacement], replacement);
+        nonTreeEdges.remove(edgeTo[replacement], replacement);
+        link(replacement);
+        return MSTUpdate.of(toEdge(replacement), removed);
+    }
+
+    /**
+     * Raises the weight of an edge (road got more expensive).
+     * A raised tree edge is cut out and competes with every other edge across the cut.
+     * @return The tree edges that changed
+     */
+    public MSTUpdate increaseWeight(String from, String to, int newWeight) {
+        int slot = existingSlot(from, to);
+        if (newWeight < edgeWeight[slot]) {
+            throw new IllegalArgumentException("New weight " + newWeight + " is smaller than current weight "
+                + edgeWeight[slot] + " of " + from + "-" + to);
+        }
+        if (edgeState[slot] == NON_TREE) {
+            edgeWeight[slot] = newWeight;
+            return MSTUpdate.none();
+        }
+
+        Edge removed = toEdge(slot);
+        cut(slot);
+        edgeWeight[slot] = newWeight;
+        demote(slot);
+        int replacement = findReplacement(edgeFrom[slot], edgeTo[slot]);
+        nonTreeEdges.remove(edgeFrom[replacement], replacement);
+        nonTreeEdges.remove(edgeTo[replacement], replacement);
+        link(replacement);
+        return MSTUpdate.of(toEdge(replacement), removed);
+    }
+
+    /**
+     * Tries to bring a non-tree edge into the tree by swapping out the heaviest edge on the
+     * tree path between its endpoints.
+     */
+    private MSTUpdate offer(int slot) {
+        int heaviest = heaviestEdgeOnPath(edgeFrom[slot], edgeTo[slot]);
+        if (heaviest != NONE && edgeWeight[slot] >= edgeWeight[heaviest]) {
+            return MSTUpdate.none();
+        }
+
+        Edge removed = null;
+        if (heaviest != NONE) {
+            removed = toEdge(heaviest);
+            cut(heaviest);
+            demote(heaviest);
+        }
+        // Otherwise the endpoints are in different trees of the forest and the edge joins them
+        nonTreeEdges.remove(edgeFrom[slot], slot);
+        nonTreeEdges.remove(edgeTo[slot], slot);
+        link(slot);
+        return MSTUpdate.of(toEdge(slot), removed);
+    }
+
+    /**
+     * Finds the cheapest non-tree edge between the two trees containing u and v after a cut.
+     * Both trees are explored breadth-first one vertex at a time; the first one to run out is
+     * the smaller, and only its non-tree edges are scanned. Worst case O(V + E).
+     * @return The slot of the replacement edge, or NONE if the trees cannot be reconnected
+     */
+    private int findReplacement(int u, int v) {
+        int stampU = nextStamp();
+        int stampV = nextStamp();
+        visitStamp[u] = stampU;
+        visitStamp[v] = stampV;
+        queue[0] = u;
+        otherQueue[0] = v;
+        int headU = 0;
+        int tailU = 1;
+        int headV = 0;
+        int tailV = 1;
+        while (headU < tailU && headV < tailV) {
+            tailU = expand(queue, headU++, tailU, stampU);
+            tailV = expand(otherQueue, headV++, tailV, stampV);
+        }
+
+        int[] side = headU == tailU ? queue : otherQueue;
+        int sideSize = headU == tailU ? tailU : tailV;
+        int sideStamp = headU == tailU ? stampU : stampV;
+        int best = NONE;
+        for (int i = 0; i < sideSize; i++) {
+            int x = side[i];
+            for (int j = 0; j < nonTreeEdges.degree(x); j++) {
+                int slot = nonTreeEdges.get(x, j);
+                int y = edgeFrom[slot] == x ? edgeTo[slot] : edgeFrom[slot];
+                if (visitStamp[y] != sideStamp && (best == NONE || edgeWeight[slot] < edgeWeight[best])) {
+                    best = slot;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Appends the unvisited tree neighbours of queue[head] to the queue.
+     * @return The new tail of the queue
+     */
+    private int expand(int[] queue, int head, int tail, int sideStamp) {
+        int x = queue[head];
+        for (int i = 0; i < treeEdges.degree(x); i++) {
+            int slot = treeEdges.get(x, i);
+            int y = edgeFrom[slot] == x ? edgeTo[slot] : edgeFrom[slot];
+            if (visitStamp[y] != sideStamp) {
+                visitStamp[y] = sideStamp;
+                queue[tail++] = y;
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Finds the heaviest tree edge on the path between u and v.
+     * @return Its slot, or NONE if u and v are not connected by the tree
+     */
+    private int heaviestEdgeOnPath(int u, int v) {
+        int pathStamp = nextStamp();
+
+        // Iterative DFS from u, recording the tree edge used to reach every vertex
+        int top = 0;
+        queue[top++] = u;
+        visitStamp[u] = pathStamp;
+        parentEdge[u] = NONE;
+        boolean found = false;
+        while (top > 0 && !found) {
+            int x = queue[--top];
+            for (int i = 0; i < treeEdges.degree(x); i++) {
+                int slot = treeEdges.get(x, i);
+                int y = edgeFrom[slot] == x ? edgeTo[slot] : edgeFrom[slot];
+                if (visitStamp[y] == pathStamp) {
+                    continue;
+                }
+                visitStamp[y] = pathStamp;
+                parentEdge[y] = slot;
+                if (y == v) {
+                    found = true;
+                    break;
+                }
+                queue[top++] = y;
+            }
+        }
+        if (!found) {
+            return NONE;
+        }
+
+        // Walk back from v to u
+        int heaviest = NONE;
+        int x = v;
+        while (x != u) {
+            int slot = parentEdge[x];
+            if (heaviest == NONE || edgeWeight[slot] > edgeWeight[heaviest]) {
+                heaviest = slot;
+            }
+            x = edgeFrom[slot] == x ? edgeTo[slot] : edgeFrom[slot];
+        }
+        return heaviest;
+    }
+
+    private int nextStamp() {
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            stamp = 0;
+        }
+        return ++stamp;
+    }
+
+    private int newSlot(int u, int v, int weight) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (edgeSlots == edgeFrom.length) {
+                int capacity = edgeSlots * 2;
+                edgeFrom = Arrays.copyOf(edgeFrom, capacity);
+                edgeTo = Arrays.copyOf(edgeTo, capacity);
+                edgeWeight = Arrays.copyOf(edgeWeight, capacity);
+                edgeState = Arrays.copyOf(edgeState, capacity);
+            }
+            slot = edgeSlots++;
+        }
+        edgeFrom[slot] = u;
+        edgeTo[slot] = v;
+        edgeWeight[slot] = weight;
+        edgeByPair.put(pairKey(u, v), slot);
+        return slot;
+    }
+
+    private void release(int slot) {
+        edgeByPair.remove(pairKey(edgeFrom[slot], edgeTo[slot]));
+        edgeState[slot] = FREE;
+        freeSlots.push(slot);
+    }
+
+    private void link(int slot) {
+        edgeState[slot] = TREE;
+        treeEdges.add(edgeFrom[slot], slot);
+        treeEdges.add(edgeTo[slot], slot);
+        treeEdgeCount++;
+        totalCost += edgeWeight[slot];
+    }
+
+    private void cut(int slot) {
+        treeEdges.remove(edgeFrom[slot], slot);
+        treeEdges.remove(edgeTo[slot], slot);
+        treeEdgeCount--;
+        totalCost -= edgeWeight[slot];
+    }
+
+    private void demote(int slot) {
+        edgeState[slot] = NON_TREE;
+        nonTreeEdges.add(edgeFrom[slot], slot);
+        nonTreeEdges.add(edgeTo[slot], slot);
+    }
+
+    private int existingSlot(String from, String to) {
+        Integer u = ids.get(from);
+        Integer v = ids.get(to);
+        Integer slot = u == null || v == null ? null : edgeByPair.get(pairKey(u, v));
+        if (slot == null) {
+            throw new IllegalArgumentException("Unknown edge: " + from + "-" + to);
+        }
+        return slot;
+    }
+
+    /**
+     * Returns the id of a vertex, adding it if it has not been seen before.
+     */
+    private int vertexId(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = names.size();
+        ids.put(name, newId);
+        names.add(name);
+        if (newId == parentEdge.length) {
+            int capacity = newId * 2;
+            treeEdges.ensureCapacity(capacity);
+            nonTreeEdges.ensureCapacity(capacity);
+            parentEdge = Arrays.copyOf(parentEdge, capacity);
+            visitStamp = Arrays.copyOf(visitStamp, capacity);
+            queue = Arrays.copyOf(queue, capacity);
+            otherQueue = Arrays.copyOf(otherQueue, capacity);
+        }
+        return newId;
+    }
+
+    private static long pairKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    private Edge toEdge(int slot) {
+        return new Edge(names.get(edgeFrom[slot]), names.get(edgeTo[slot]), edgeWeight[slot]);
+    }
+
+    /**
+     * Returns the current tree edges.
+     */
+    public List<Edge> getTreeEdges() {
+        List<Edge> edges = new ArrayList<>(treeEdgeCount);
+        for (int slot = 0; slot < edgeSlots; slot++) {
+            if (edgeState[slot] == TREE) {
+                edges.add(toEdge(slot));
+            }
+        }
+        return edges;
+    }
+
+    public int getTreeEdgeCount() {
+        return treeEdgeCount;
+    }
+
+    /**
+     * Number of edges currently in the graph, tree and non-tree.
+     */
+    public int getEdgeCount() {
+        return edgeByPair.size();
+    }
+
+    public long getTotalCost() {
+        return totalCost;
+    }
+
+    public int getVertexCount() {
+        return names.size();
+    }
+
+    /**
+     * Growable per-vertex lists of edge slots; removal swaps in the last entry.
+     */
+    private static final class IncidenceLists {
+        private int[][] lists;
+        private int[] degrees;
+
+        IncidenceLists(int capacity) {
+            this.lists = new int[capacity][];
+            this.degrees = new int[capacity];
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity > lists.length) {
+                lists = Arrays.copyOf(lists, capacity);
+                degrees = Arrays.copyOf(degrees, capacity);
+            }
+        }
+
+        int degree(int x) {
+            return degrees[x];
+        }
+
+        int get(int x, int i) {
+            return lists[x][i];
+        }
+
+        void add(int x, int slot) {
+            if (lists[x] == null) {
+                lists[x] = new int[4];
+            } else if (degrees[x] == lists[x].length) {
+                lists[x] = Arrays.copyOf(lists[x], degrees[x] * 2);
+            }
+            lists[x][degrees[x]++] = slot;
+        }
+
+        void remove(int x, int slot) {
+            int[] list = lists[x];
+            for (int i = 0; i < degrees[x]; i++) {
+                if (list[i] == slot) {
+                    list[i] = list[--degrees[x]];
+                    return;
+                }
+            }
+        }
+    }
+}
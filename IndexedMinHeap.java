@@ -0,0 +1,47 @@
+package com.socialnetwork;
+
+/**
+ * Min-priority queue over items 0..capacity-1 with one int key per item.
+ * Supports decrease-key, which lets eager Prim keep a single entry per vertex.
+ */
+public interface IndexedMinHeap {
+
+    /**
+     * Inserts an item that is not currently in the heap.
+     */
+    void insert(int item, int key);
+
+    /**
+     * Lowers the key of an item that is currently in the heap.
+     */
+    void decreaseKey(int item, int key);
+
+    boolean contains(int item);
+
+    /**
+     * Returns the current key of an item in the heap.
+     */
+    int keyOf(int item);
+
+    /**
+     * Removes and returns the item with the smallest key.
+     */
+    int extractMin();
+
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * Total of the operation counter this heap reports to, capped at Integer.MAX_VALUE.
+     * @see #getTotalOperations()
+     */
+    default int getOperationsCount() {
+        return (int) Math.min(getTotalOperations(), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Total of the operation counter this heap reports to.
+     */
+    long getTotalOperations();
+}
@@ -0,0 +1,145 @@
+package com.socialnetwork;
+
+import static com.socialnetwork.OperationCounter.Category.*;
+
+import java.util.Arrays;
+
+/**
+ * Array-backed Union-Find over dense integer ids with path halving and union by size.
+ * Find is iterative, so degenerate chains cannot overflow the stack.
+ */
+public class IntUnionFind implements DisjointSet {
+    private int[] parent;
+    private int[] size;
+    private int count;
+    private int componentCount;
+    private final OperationCounter counter;
+
+    /**
+     * Creates a structure with elements 0..n-1, each in its own set.
+     */
+    public IntUnionFind(int n) {
+        this(n, OperationCounter.counting());
+    }
+
+    /**
+     * Creates a structure with elements 0..n-1 that reports its operations to the given counter.
+     */
+    public IntUnionFind(int n, OperationCounter counter) {
+        this.parent = new int[Math.max(n, 1)];
+        this.size = new int[Math.max(n, 1)];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        this.count = n;
+        this.componentCount = n;
+        this.counter = counter;
+    }
+
+    /**
+     * Discards all sets and starts over with elements 0..n-1, each in its own set.
+     * The arrays are reused when they are large enough.
+     */
+    public void reset(int n) {
+        if (n > parent.length) {
+            parent = new int[n];
+            size = new int[n];
+        }
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        this.count = n;
+        this.componentCount = n;
+    }
+
+    /**
+     * Adds a new singleton element and returns its id.
+     */
+    public int add() {
+        if (count == parent.length) {
+            parent = Arrays.copyOf(parent, count * 2);
+            size = Arrays.copyOf(size, count * 2);
+        }
+        int x = count++;
+        parent[x] = x;
+        size[x] = 1;
+        componentCount++;
+        counter.add(OTHER, 2); // Set parent and size
+        return x;
+    }
+
+    /**
+     * Finds the representative (root) of the set containing x.
+     * Uses path halving: every visited node is re-pointed to its grandparent.
+     */
+    @Override
+    public int find(int x) {
+        counter.add(FIND, 1); // Find operation
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+            counter.add(FIND, 1); // Path step
+        }
+        return x;
+    }
+
+    /**
+     * Unites the sets containing x and y, attaching the smaller tree under the larger.
+     * @return true if union was performed, false if already in same set
+     */
+    @Override
+    public boolean union(int x, int y) {
+        int rootX = find(x);
+        int rootY = find(y);
+
+        counter.add(UNION, 1); // Comparison
+        if (rootX == rootY) {
+            return false; // Already in same set
+        }
+
+        // Union by size
+        counter.add(UNION, 1); // Size comparison
+        if (size[rootX] < size[rootY]) {
+            int tmp = rootX;
+            rootX = rootY;
+            rootY = tmp;
+        }
+        parent[rootY] = rootX;
+        size[rootX] += size[rootY];
+        componentCount--;
+        counter.add(UNION, 2); // Update parent and size
+
+        return true;
+    }
+
+    @Override
+    public boolean connected(int x, int y) {
+        return find(x) == find(y);
+    }
+
+    /**
+     * Returns the number of elements in the set containing x.
+     */
+    public int sizeOf(int x) {
+        return size[find(x)];
+    }
+
+    public int getElementCount() {
+        return count;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    @Override
+    public long getTotalOperations() {
+        return counter.getTotal();
+    }
+
+    public void resetOperationsCount() {
+        counter.reset();
+    }
+}
@@ -0,0 +1,119 @@
+package com.socialnetwork;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.function.IntFunction;
+
+/**
+ * Writes graphs in the assignment's JSON input format one graph, and one block of edges,
+ * at a time, so generated datasets never have to fit in memory.
+ * Pretty output matches what the Gson tree writer produced for the same graphs.
+ */
+public class JsonGraphWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonWriter writer;
+    private boolean started;
+    private boolean inGraph;
+
+    public JsonGraphWriter(Writer out, boolean compact) {
+        this.writer = new JsonWriter(out);
+        this.writer.setHtmlSafe(true); // Same escaping as the Gson tree writer
+        if (!compact) {
+            this.writer.setIndent("  ");
+        }
+    }
+
+    /**
+     * Opens a buffered writer over a file channel, replacing any existing file.
+     */
+    public static JsonGraphWriter open(String filename, boolean compact) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Writer out = new BufferedWriter(
+            Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+        return new JsonGraphWriter(out, compact);
+    }
+
+    /**
+     * Appends a graph to the "graphs" array.
+     */
+    public void write(Graph graph) throws IOException {
+        beginGraph(graph.getId(), graph.getNodes().size(), graph.getNodes()::get);
+        for (Edge edge : graph.getEdges()) {
+            writeEdge(edge.getFrom(), edge.getTo(), edge.getWeight());
+        }
+        endGraph();
+    }
+
+    /**
+     * Starts a graph: writes its id and node names and returns a sink for its edges,
+     * which are written as they arrive. Must be followed by {@link #endGraph()}.
+     * @param names Name of every vertex id; also used to resolve edge endpoints
+     */
+    public EdgeSink beginGraph(int id, int vertexCount, IntFunction<String> names) throws IOException {
+        if (inGraph) {
+            throw new IllegalStateException("Previous graph was not ended");
+        }
+        ensureStarted();
+        writer.beginObject();
+        writer.name("id").value(id);
+        writer.name("nodes").beginArray();
+        for (int v = 0; v < vertexCount; v++) {
+            writer.value(names.apply(v));
+        }
+        writer.endArray();
+        writer.name("edges").beginArray();
+        inGraph = true;
+
+        return (from, to, weight, count) -> {
+            for (int i = 0; i < count; i++) {
+                writeEdge(names.apply(from[i]), names.apply(to[i]), weight[i]);
+            }
+        };
+    }
+
+    public void endGraph() throws IOException {
+        if (!inGraph) {
+            throw new IllegalStateException("No graph in progress");
+        }
+        writer.endArray();
+        writer.endObject();
+        inGraph = false;
+    }
+
+    private void writeEdge(String from, String to, int weight) throws IOException {
+        writer.beginObject();
+        writer.name("from").value(from);
+        writer.name("to").value(to);
+        writer.name("weight").value(weight);
+        writer.endObject();
+    }
+
+    private void ensureStarted() throws IOException {
+        if (!started) {
+            writer.beginObject();
+            writer.name("graphs").beginArray();
+            started = true;
+        }
+    }
+
+    /**
+     * Closes the "graphs" array and the root object, then the underlying file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            ensureStarted();
+            writer.endArray();
+            writer.endObject();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+}
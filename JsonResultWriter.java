@@ -0,0 +1,196 @@
+package com.socialnetwork;
+
+import com.google.gson.stream.JsonWriter;
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.List;
+
+/**
+ * Writes algorithm results to the JSON output format one graph at a time.
+ * Nothing is buffered beyond the current value, so output size is bounded by disk, not heap.
+ * Compact mode drops the pretty-printing whitespace; columnar mode writes MST edges as
+ * parallel "from"/"to"/"weight" arrays instead of one object per edge.
+ */
+public class JsonResultWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final JsonWriter writer;
+    private final boolean columnarEdges;
+    private boolean started;
+
+    public JsonResultWriter(Writer out, boolean compact, boolean columnarEdges) {
+        this.writer = new JsonWriter(out);
+        this.writer.setHtmlSafe(true); // Same escaping as the Gson tree writer
+        if (!compact) {
+            this.writer.setIndent("  ");
+        }
+        this.columnarEdges = columnarEdges;
+    }
+
+    /**
+     * Opens a buffered writer over a file channel, replacing any existing file.
+     */
+    public static JsonResultWriter open(String filename, boolean compact, boolean columnarEdges) throws IOException {
+        FileChannel channel = FileChannel.open(Paths.get(filename),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Writer out = new BufferedWriter(
+            Channels.newWriter(channel, StandardCharsets.UTF_8.newEncoder(), BUFFER_SIZE), BUFFER_SIZE);
+        return new JsonResultWriter(out, compact, columnarEdges);
+    }
+
+    /**
+     * Writes every result and closes the writer.
+     */
+    public static void writeAll(List<JSONHandler.GraphResult> results, String filename,
+                                boolean compact, boolean columnarEdges) throws IOException {
+        try (JsonResultWriter writer = open(filename, compact, columnarEdges)) {
+            for (JSONHandler.GraphResult result : results) {
+                writer.write(result);
+            }
+        }
+    }
+
+    /**
+     * Appends the result of one graph to the "results" array.
+     */
+    public void write(JSONHandler.GraphResult result) throws IOException {
+        ensureStarted();
+
+        writer.beginObject();
+        writer.name("graph_id").value(result.graphId);
+
+        // Input stats
+        writer.name("input_stats").beginObject();
+        writer.name("vertices").value(result.vertices);
+        writer.name("edges").value(result.edges);
+        writer.endObject();
+
+        writer.name("prim");
+        writeAlgorithmResult(result.primResult);
+        writer.name("kruskal");
+        writeAlgorithmResult(result.kruskalResult);
+
+        writer.endObject();
+    }
+
+    /**
+     * Appends the result of a single engine run on one graph to the "results" array.
+     */
+    public void write(Graph graph, MSTEngine engine, MSTResult result) throws IOException {
+        ensureStarted();
+
+        writer.beginObject();
+        writer.name("graph_id").value(graph.getId());
+
+        // Input stats
+        writer.name("input_stats").beginObject();
+        writer.name("vertices").value(graph.getVertexCount());
+        writer.name("edges").value(graph.getEdgeCount());
+        writer.endObject();
+
+        writer.name("engine").value(engine.name());
+        writer.name("mst");
+        writeAlgorithmResult(result);
+
+        writer.endObject();
+    }
+
+    private void ensureStarted() throws IOException {
+        if (!started) {
+            writer.beginObject();
+            writer.name("results").beginArray();
+            started = true;
+        }
+    }
+
+    private void writeAlgorithmResult(MSTResult result) throws IOException {
+        writer.beginObject();
+
+        writer.name("mst_edges");
+        if (columnarEdges) {
+            writeEdgeColumns(result.getMstEdges());
+        } else {
+            writer.beginArray();
+            for (Edge edge : result.getMstEdges()) {
+                writer.beginObject();
+                writer.name("from").value(edge.getFrom());
+                writer.name("to").value(edge.getTo());
+                writer.name("weight").value(edge.getWeight());
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+
+        writer.name("total_cost").value(result.getTotalCost());
+        writer.name("component_count").value(result.getComponentCount());
+        writer.name("component_costs").beginArray();
+        for (int cost : result.getComponentCosts()) {
+            writer.value(cost);
+        }
+        writer.endArray();
+        writer.name("operations_count").value(result.getTotalOperations());
+        writer.name("execution_time_ms").value(Math.round(result.getExecutionTimeMs() * 100.0) / 100.0);
+        TimingStats timing = result.getTimingStats();
+        if (timing != null) {
+            writer.name("timing").beginObject();
+            writer.name("warmup_runs").value(timing.getWarmupRuns());
+            writer.name("trials").value(timing.getTrials());
+            writer.name("min_ms").value(roundMicros(timing.getMinMs()));
+            writer.name("median_ms").value(roundMicros(timing.getMedianMs()));
+            writer.name("p95_ms").value(roundMicros(timing.getP95Ms()));
+            writer.name("p99_ms").value(roundMicros(timing.getP99Ms()));
+            writer.name("mean_ms").value(roundMicros(timing.getMeanMs()));
+            writer.name("allocated_bytes_per_run").value(timing.getAllocatedBytesPerRun());
+            writer.name("gc_count").value(timing.getGcCount());
+            writer.name("gc_time_ms").value(timing.getGcTimeMs());
+            writer.endObject();
+        }
+
+        writer.endObject();
+    }
+
+    /**
+     * Trial times are kept to 0.1 microsecond so small graphs remain distinguishable.
+     */
+    private static double roundMicros(double ms) {
+        return Math.round(ms * 10_000.0) / 10_000.0;
+    }
+
+    private void writeEdgeColumns(List<Edge> edges) throws IOException {
+        writer.beginObject();
+        writer.name("from").beginArray();
+        for (Edge edge : edges) {
+            writer.value(edge.getFrom());
+        }
+        writer.endArray();
+        writer.name("to").beginArray();
+        for (Edge edge : edges) {
+            writer.value(edge.getTo());
+        }
+        writer.endArray();
+        writer.name("weight").beginArray();
+        for (Edge edge : edges) {
+            writer.value(edge.getWeight());
+        }
+        writer.endArray();
+        writer.endObject();
+    }
+
+    /**
+     * Closes the "results" array and the root object, then the underlying file.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            ensureStarted();
+            writer.endArray();
+            writer.endObject();
+            writer.flush();
+        } finally {
+            writer.close();
+        }
+    }
+}
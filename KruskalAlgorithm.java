@@ -1,10 +1,15 @@
 package com.socialnetwork;
 
+import static com.socialnetwork.OperationCounter.Category.*;
+
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementation of Kruskal's algorithm for finding Minimum Spanning Tree.
  * Uses Union-Find data structure to detect cycles efficiently.
+ * On disconnected graphs the accepted edges form a minimum spanning forest, which is
+ * split into per-component costs from the final disjoint sets.
  */
 public class KruskalAlgorithm {
     
@@ -14,43 +19,56 @@ public class KruskalAlgorithm {
      * @return MSTResult containing MST edges, cost, operations count, and execution time
      */
     public static MSTResult findMST(Graph graph) {
+        return findMST(graph, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using Kruskal's algorithm, reporting operations to the given counter.
+     * @param graph The input graph
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(Graph graph, OperationCounter counter) {
         long startTime = System.nanoTime();
-        int operationsCount = 0;
         
         List<String> nodes = graph.getNodes();
         List<Edge> edges = graph.getEdges();
         
-        // Handle empty graph
+        // Handle empty graph: every node is a component of its own
         if (nodes.isEmpty() || edges.isEmpty()) {
             long endTime = System.nanoTime();
             double executionTimeMs = (endTime - startTime) / 1_000_000.0;
-            return new MSTResult(new ArrayList<>(), 0, operationsCount, executionTimeMs);
+            return new MSTResult(new ArrayList<>(), 0, new int[nodes.size()], counter, executionTimeMs);
         }
         
-        // Sort edges by weight
-        List<Edge> sortedEdges = new ArrayList<>(edges);
-        sortedEdges.sort(Comparator.comparingInt(Edge::getWeight));
-        operationsCount += edges.size() * (int)(Math.log(edges.size()) / Math.log(2)); // Sorting operations estimate
+        // Sort edge indices by weight on primitive keys
+        int[] weights = new int[edges.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = edges.get(i).getWeight();
+        }
+        int[] sortedOrder = EdgeSorter.sortedOrder(weights);
+        counter.add(SORT, (long) edges.size() * (int)(Math.log(edges.size()) / Math.log(2))); // Sorting operations estimate
         
         // Initialize Union-Find
-        UnionFind uf = new UnionFind();
+        UnionFind uf = new UnionFind(counter);
         for (String node : nodes) {
             uf.makeSet(node);
-            operationsCount++; // makeSet operation
+            counter.add(OTHER, 1); // makeSet operation
         }
         
         List<Edge> mstEdges = new ArrayList<>();
         int totalCost = 0;
         
         // Process edges in sorted order
-        for (Edge edge : sortedEdges) {
-            operationsCount++; // Edge iteration
+        for (int index : sortedOrder) {
+            Edge edge = edges.get(index);
+            counter.add(EDGE_SCAN, 1); // Edge iteration
             
             // Check if adding this edge creates a cycle
             if (uf.union(edge.getFrom(), edge.getTo())) {
                 mstEdges.add(edge);
                 totalCost += edge.getWeight();
-                operationsCount += 2; // Add edge and update cost
+                counter.add(OTHER, 2); // Add edge and update cost
                 
                 // Stop if we have V-1 edges
                 if (mstEdges.size() == nodes.size() - 1) {
@@ -59,13 +77,404 @@ public class KruskalAlgorithm {
             }
         }
         
-        // Add Union-Find operations to total count
-        operationsCount += uf.getOperationsCount();
+        int[] componentCosts;
+        if (mstEdges.size() == nodes.size() - 1) {
+            componentCosts = new int[] {totalCost};
+        } else {
+            // Forest: group tree edges by the set of one endpoint, using the ids from makeSet order
+            int[] treeVertex = new int[mstEdges.size()];
+            int[] treeWeight = new int[mstEdges.size()];
+            for (int i = 0; i < treeVertex.length; i++) {
+                treeVertex[i] = uf.idOf(mstEdges.get(i).getFrom());
+                treeWeight[i] = mstEdges.get(i).getWeight();
+            }
+            componentCosts = SpanningForest.componentCosts(nodes.size(), uf::findId,
+                treeVertex, treeWeight, treeVertex.length);
+        }
+        
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        
+        return new MSTResult(mstEdges, totalCost, componentCosts, counter, executionTimeMs);
+    }
+    
+    /**
+     * Finds MST using Kruskal's algorithm on the integer-indexed CSR representation.
+     * Edge ids are sorted by {@link EdgeSorter} on primitive keys and cycles are
+     * detected with an {@link IntUnionFind}, so no Edge objects are touched until
+     * the accepted edges are mapped back to node names.
+     * @param graph The input graph in compact form
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph) {
+        return findMST(graph, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using Kruskal's algorithm on the compact representation, reporting operations to the given counter.
+     * @param graph The input graph in compact form
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        
+        // Handle empty graph: every vertex is a component of its own
+        if (n == 0 || m == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[n], counter, executionTimeMs);
+        }
+        
+        // Sort edge ids by weight, ties broken by original edge order
+        int[] sortedOrder = EdgeSorter.sortedOrder(graph.edgeWeights());
+        counter.add(SORT, (long) m * (int)(Math.log(m) / Math.log(2))); // Sorting operations estimate
+        
+        return kruskalForest(graph, counter, startTime, sortedOrder, new IntUnionFind(n, counter),
+            new int[n - 1], new int[n - 1]);
+    }
+    
+    /**
+     * Finds MST using Kruskal's algorithm on the compact representation, reusing the sort buffers,
+     * edge order, union-find and tree arrays of the given workspace. Once the workspace has grown
+     * to the graph size, repeated calls only allocate the result.
+     * @param graph The input graph in compact form
+     * @param workspace Scratch space, e.g. {@link MSTWorkspace#current()}; operations go to its counter
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph, MSTWorkspace workspace) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        MSTWorkspace space = workspace.forGraph(n, m);
+        OperationCounter counter = space.startRun();
+        
+        // Handle empty graph: every vertex is a component of its own
+        if (n == 0 || m == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[n], counter, executionTimeMs);
+        }
+        
+        // Sort edge ids by weight, ties broken by original edge order
+        int[] sortedOrder = space.edgeIds(m);
+        EdgeSorter.sortByWeight(sortedOrder, 0, m, graph.edgeWeights(), space.sortBuffers());
+        counter.add(SORT, (long) m * (int)(Math.log(m) / Math.log(2))); // Sorting operations estimate
+        
+        return kruskalForest(graph, counter, startTime, sortedOrder, space.unionFind(n),
+            space.treeVertices(n - 1), space.treeWeights(n - 1));
+    }
+    
+    /**
+     * Kruskal main loop over the first E entries of sortedOrder and caller-provided buffers.
+     * @param uf Union-find with every vertex in its own set, reporting to counter
+     * @param treeVertex Length at least V-1, contents ignored
+     * @param treeWeight Length at least V-1, contents ignored
+     */
+    private static MSTResult kruskalForest(CompactGraph graph, OperationCounter counter, long startTime,
+                                           int[] sortedOrder, IntUnionFind uf, int[] treeVertex, int[] treeWeight) {
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        counter.add(OTHER, n); // makeSet operations
+        
+        List<Edge> mstEdges = new ArrayList<>(n - 1);
+        int totalCost = 0;
+        
+        for (int i = 0; i < m; i++) {
+            int e = sortedOrder[i];
+            counter.add(EDGE_SCAN, 1); // Edge iteration
+            
+            // Check if adding this edge creates a cycle
+            if (uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                treeVertex[mstEdges.size()] = graph.getEdgeFrom(e);
+                treeWeight[mstEdges.size()] = graph.getEdgeWeight(e);
+                mstEdges.add(graph.toEdge(graph.getEdgeFrom(e), graph.getEdgeTo(e), graph.getEdgeWeight(e)));
+                totalCost += graph.getEdgeWeight(e);
+                counter.add(OTHER, 2); // Add edge and update cost
+                
+                // Stop if we have V-1 edges
+                if (mstEdges.size() == n - 1) {
+                    break;
+                }
+            }
+        }
+        int[] componentCosts = SpanningForest.componentCosts(n, uf::find, treeVertex, treeWeight, mstEdges.size());
+        
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        
+        return new MSTResult(mstEdges, totalCost, componentCosts, counter, executionTimeMs);
+    }
+    
+    /**
+     * Finds MST using Kruskal's algorithm on an off-heap edge store.
+     * The edges are sorted into an off-heap copy and streamed through an {@link IntUnionFind},
+     * so the heap only holds per-vertex state and the resulting tree.
+     * @param edges The input graph as an off-heap edge list
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(OffHeapEdgeStore edges) {
+        return findMST(edges, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using Kruskal's algorithm on an off-heap edge store, reporting operations to the given counter.
+     * @param edges The input graph as an off-heap edge list
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(OffHeapEdgeStore edges, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = edges.getVertexCount();
+        long m = edges.getEdgeCount();
+        
+        // Handle empty graph: every vertex is a component of its own
+        if (n == 0 || m == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[n], counter, executionTimeMs);
+        }
+        
+        OffHeapEdgeStore sorted = edges.sortedByWeight();
+        counter.add(SORT, m * (int)(Math.log(m) / Math.log(2))); // Sorting operations estimate
+        
+        IntUnionFind uf = new IntUnionFind(n, counter);
+        counter.add(OTHER, n); // makeSet operations
+        
+        List<Edge> mstEdges = new ArrayList<>(n - 1);
+        int[] treeVertex = new int[n - 1];
+        int[] treeWeight = new int[n - 1];
+        int totalCost = 0;
+        
+        for (long e = 0; e < m && mstEdges.size() < n - 1; e++) {
+            int from = sorted.getEdgeFrom(e);
+            int to = sorted.getEdgeTo(e);
+            counter.add(EDGE_SCAN, 1); // Edge iteration
+            
+            // Check if adding this edge creates a cycle
+            if (uf.union(from, to)) {
+                int weight = sorted.getEdgeWeight(e);
+                treeVertex[mstEdges.size()] = from;
+                treeWeight[mstEdges.size()] = weight;
+                mstEdges.add(edges.toEdge(from, to, weight));
+                totalCost += weight;
+                counter.add(OTHER, 2); // Add edge and update cost
+            }
+        }
+        int[] componentCosts = SpanningForest.componentCosts(n, uf::find, treeVertex, treeWeight, mstEdges.size());
+        
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        
+        return new MSTResult(mstEdges, totalCost, componentCosts, counter, executionTimeMs);
+    }
+    
+    /**
+     * Finds MST using Filter-Kruskal.
+     * Edges are partitioned around a pivot weight quicksort-style; the light side is solved first,
+     * then heavy edges whose endpoints are already connected are filtered out before they are
+     * ever sorted. On dense graphs most edges are discarded by the filter instead of the sort.
+     * @param graph The input graph
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTFiltered(Graph graph) {
+        return findMSTFiltered(graph.getCompactGraph());
+    }
+    
+    /**
+     * Finds MST using Filter-Kruskal on the integer-indexed CSR representation.
+     * @param graph The input graph in compact form
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTFiltered(CompactGraph graph) {
+        return findMSTFiltered(graph, null);
+    }
+    
+    /**
+     * Finds MST using Filter-Kruskal with the heavy-side cycle filter run in parallel.
+     * Filtering only reads the disjoint sets, so edge batches are checked concurrently
+     * against a {@link ConcurrentUnionFind}; unions are still applied in weight order.
+     * @param graph The input graph in compact form
+     * @param pool Pool that runs the filter, or null to filter sequentially
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTFiltered(CompactGraph graph, ForkJoinPool pool) {
+        return findMSTFiltered(graph, pool, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using Filter-Kruskal, reporting operations to the given counter.
+     * @param graph The input graph in compact form
+     * @param pool Pool that runs the filter, or null to filter sequentially
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTFiltered(CompactGraph graph, ForkJoinPool pool, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        int m = graph.getEdgeCount();
+        
+        // Handle empty graph: every vertex is a component of its own
+        if (n == 0 || m == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[n], counter, executionTimeMs);
+        }
+        
+        int[] edgeIds = new int[m];
+        for (int e = 0; e < m; e++) {
+            edgeIds[e] = e;
+        }
+        
+        FilterKruskal state = new FilterKruskal(graph, pool, counter);
+        counter.add(OTHER, n); // makeSet operations
+        state.solve(edgeIds, 0, m);
+        if (state.uf instanceof ConcurrentUnionFind) {
+            // Counted with thread-safe adders during the parallel filter
+            ConcurrentUnionFind concurrent = (ConcurrentUnionFind) state.uf;
+            counter.add(FIND, concurrent.getFindCount());
+            counter.add(UNION, concurrent.getUnionCount());
+        }
+        int[] componentCosts = SpanningForest.componentCosts(n, state.uf::find,
+            state.treeVertex, state.treeWeight, state.mstEdges.size());
         
         long endTime = System.nanoTime();
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
         
-        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs);
+        return new MSTResult(state.mstEdges, state.totalCost, componentCosts, counter, executionTimeMs);
+    }
+    
+    /**
+     * Recursion state for Filter-Kruskal.
+     */
+    private static class FilterKruskal {
+        /** Subproblems at or below this size are sorted directly. */
+        private static final int BASE_CASE_SIZE = 1024;
+        
+        final CompactGraph graph;
+        final int[] weights;
+        final DisjointSet uf;
+        final ForkJoinPool pool;
+        final int[] scratch;
+        final List<Edge> mstEdges;
+        final int[] treeVertex;
+        final int[] treeWeight;
+        final OperationCounter counter;
+        int totalCost;
+        
+        FilterKruskal(CompactGraph graph, ForkJoinPool pool, OperationCounter counter) {
+            this.graph = graph;
+            this.weights = graph.edgeWeights();
+            this.pool = pool;
+            this.counter = counter;
+            if (pool == null) {
+                this.uf = new IntUnionFind(graph.getVertexCount(), counter);
+                this.scratch = null;
+            } else {
+                this.uf = new ConcurrentUnionFind(graph.getVertexCount());
+                this.scratch = new int[graph.getEdgeCount()];
+            }
+            this.mstEdges = new ArrayList<>(Math.max(0, graph.getVertexCount() - 1));
+            this.treeVertex = new int[Math.max(0, graph.getVertexCount() - 1)];
+            this.treeWeight = new int[Math.max(0, graph.getVertexCount() - 1)];
+        }
+        
+        boolean isComplete() {
+            return mstEdges.size() == graph.getVertexCount() - 1;
+        }
+        
+        void solve(int[] edgeIds, int from, int to) {
+            if (from >= to || isComplete()) {
+                return;
+            }
+            if (to - from <= BASE_CASE_SIZE) {
+                kruskal(edgeIds, from, to);
+                return;
+            }
+            
+            int pivot = medianOfThree(weights[edgeIds[from]],
+                                      weights[edgeIds[(from + to) >>> 1]],
+                                      weights[edgeIds[to - 1]]);
+            // Three-way split: edges equal to the pivot form their own block, which is never empty,
+            // so heavily duplicated weights still shrink both recursive sides
+            int lightEnd = pivot == Integer.MIN_VALUE ? from : partition(edgeIds, from, to, pivot - 1);
+            int equalEnd = partition(edgeIds, lightEnd, to, pivot);
+            
+            solve(edgeIds, from, lightEnd);
+            int equalKept = filter(edgeIds, lightEnd, equalEnd);
+            if (equalKept > lightEnd && !isComplete()) {
+                kruskal(edgeIds, lightEnd, equalKept);
+            }
+            int heavyEnd = filter(edgeIds, equalEnd, to);
+            solve(edgeIds, equalEnd, heavyEnd);
+        }
+        
+        /**
+         * Moves edges with weight <= pivot to the front of the range and returns the end of that part.
+         */
+        private int partition(int[] edgeIds, int from, int to, int pivot) {
+            int split = from;
+            for (int i = from; i < to; i++) {
+                counter.add(SORT, 1); // Pivot comparison
+                if (weights[edgeIds[i]] <= pivot) {
+                    int tmp = edgeIds[i];
+                    edgeIds[i] = edgeIds[split];
+                    edgeIds[split++] = tmp;
+                }
+            }
+            return split;
+        }
+        
+        /**
+         * Drops edges whose endpoints are already connected and returns the new end of the range.
+         */
+        private int filter(int[] edgeIds, int from, int to) {
+            counter.add(EDGE_SCAN, to - from); // Filter checks
+            if (pool != null && to - from > ParallelLoops.GRAIN_SIZE) {
+                int kept = ParallelLoops.filter(pool, edgeIds, from, to, scratch, from,
+                    e -> !uf.connected(graph.getEdgeFrom(e), graph.getEdgeTo(e)));
+                System.arraycopy(scratch, from, edgeIds, from, kept);
+                return from + kept;
+            }
+            
+            int kept = from;
+            for (int i = from; i < to; i++) {
+                int e = edgeIds[i];
+                if (!uf.connected(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                    edgeIds[kept++] = e;
+                }
+            }
+            return kept;
+        }
+        
+        private void kruskal(int[] edgeIds, int from, int to) {
+            int size = to - from;
+            EdgeSorter.sortByWeight(edgeIds, from, to, weights);
+            if (size > 1) {
+                counter.add(SORT, (long) size * (int)(Math.log(size) / Math.log(2))); // Sorting operations estimate
+            }
+            
+            for (int i = from; i < to && !isComplete(); i++) {
+                int e = edgeIds[i];
+                counter.add(EDGE_SCAN, 1); // Edge iteration
+                if (uf.union(graph.getEdgeFrom(e), graph.getEdgeTo(e))) {
+                    treeVertex[mstEdges.size()] = graph.getEdgeFrom(e);
+                    treeWeight[mstEdges.size()] = weights[e];
+                    mstEdges.add(graph.toEdge(graph.getEdgeFrom(e), graph.getEdgeTo(e), weights[e]));
+                    totalCost += weights[e];
+                    counter.add(OTHER, 2); // Add edge and update cost
+                }
+            }
+        }
+        
+        private static int medianOfThree(int a, int b, int c) {
+            return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+        }
     }
 }
-
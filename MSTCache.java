@@ -0,0 +1,272 @@
+package com.socialnetwork;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Content-addressed cache of MST results in front of the engines.
+ *
+ * Graphs are keyed by a 128-bit hash of their node list and edge multiset: every node is hashed
+ * together with its position and every edge on its own (with its endpoints in canonical order),
+ * and the element hashes are summed. Node order is part of the key, since it decides the Prim
+ * roots, the tree orientation and the component numbering; edge order and direction are not.
+ * The engine is part of the key, since engines report different operation counts.
+ *
+ * Results live in an in-memory LRU tier and, optionally, in an on-disk tier with one file per
+ * key in the binary result encoding. A hit returns the stored result, including the execution
+ * time and operation counts of the run that produced it. For engines that report edges in
+ * their input direction, the edges of a hit are re-oriented to match the requesting graph.
+ * When several MSTs share the minimum cost, a hit may return one that a fresh run on a
+ * reordered edge list would not have picked; its cost and components are the same.
+ */
+public class MSTCache {
+    private static final String FILE_SUFFIX = ".mstr";
+
+    private final LinkedHashMap<String, MSTResult> memory;
+    private final Path directory;
+
+    private long hits;
+    private long diskHits;
+    private long misses;
+
+    /**
+     * Creates a memory-only cache.
+     * @param capacity Maximum number of results kept in memory
+     */
+    public MSTCache(int capacity) {
+        this(capacity, null);
+    }
+
+    /**
+     * @param capacity Maximum number of results kept in memory
+     * @param directory Directory of the on-disk tier, created if missing; null for memory only
+     */
+    public MSTCache(int capacity, Path directory) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.memory = new LinkedHashMap<String, MSTResult>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, MSTResult> eldest) {
+                return size() > capacity;
+            }
+        };
+        this.directory = directory;
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the cached result of the engine on this graph, computing and storing it on a miss.
+     */
+    public MSTResult findMST(Graph graph, MSTEngine engine) {
+        return findMST(graph, engine, () -> engine.findMST(graph));
+    }
+
+    /**
+     * Returns the cached result of the engine on this graph, or stores the result of
+     * compute on a miss. Lets callers wrap the engine run, e.g. to time it.
+     */
+    public MSTResult findMST(Graph graph, MSTEngine engine, Supplier<MSTResult> compute) {
+        String key = key(graph, engine);
+        MSTResult result = lookup(key);
+        if (result != null) {
+            return engine.orientsEdgesByInput() ? orientLike(graph, result) : result;
+        }
+
+        // Computed outside the lock; concurrent misses on one key just compute twice
+        result = compute.get();
+        store(key, result);
+        return result;
+    }
+
+    /**
+     * Looks the key up in memory, then on disk. The lock only guards the memory tier and the
+     * counters; file reads run outside it, so one worker's disk access never blocks the others.
+     */
+    private MSTResult lookup(String key) {
+        synchronized (this) {
+            MSTResult result = memory.get(key);
+            if (result != null) {
+                hits++;
+                return result;
+            }
+        }
+
+        MSTResult result = directory == null ? null : readFromDisk(key);
+        synchronized (this) {
+            if (result == null) {
+                misses++;
+                return null;
+            }
+            hits++;
+            diskHits++;
+            memory.put(key, result);
+            return result;
+        }
+    }
+
+    private void store(String key, MSTResult result) {
+        synchronized (this) {
+            memory.put(key, result);
+        }
+        if (directory != null) {
+            // Outside the lock; concurrent writers of one key each rename a complete file into place
+            writeToDisk(key, result);
+        }
+    }
+
+    /**
+     * Flips the result edges that the graph only stores in the opposite direction.
+     * Returns the result itself if no edge needs flipping.
+     */
+    static MSTResult orientLike(Graph graph, MSTResult result) {
+        Set<String> directed = new HashSet<>(graph.getEdgeCount() * 2);
+        for (Edge edge : graph.getEdges()) {
+            directed.add(directedKey(edge.getFrom(), edge.getTo(), edge.getWeight()));
+        }
+        List<Edge> oriented = null;
+        List<Edge> edges = result.getMstEdges();
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            if (!directed.contains(directedKey(edge.getFrom(), edge.getTo(), edge.getWeight()))) {
+                if (oriented == null) {
+                    oriented = new ArrayList<>(edges);
+                }
+                oriented.set(i, new Edge(edge.getTo(), edge.getFrom(), edge.getWeight()));
+            }
+        }
+        return oriented == null ? result : result.withMstEdges(oriented);
+    }
+
+    private static String directedKey(String from, String to, int weight) {
+        return from + '\0' + to + '\0' + weight;
+    }
+
+    private MSTResult readFromDisk(String key) {
+        Path file = directory.resolve(key + FILE_SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = BinaryGraphFormat.map(channel, 0, channel.size());
+            if (buffer.remaining() < 2 * Integer.BYTES || buffer.getInt() != BinaryResultFormat.MAGIC
+                    || buffer.getInt() != BinaryResultFormat.VERSION) {
+                return null; // Stale or foreign file: treat as a miss and overwrite it
+            }
+            return BinaryResultFormat.readMSTResult(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeToDisk(String key, MSTResult result) {
+        Path file = directory.resolve(key + FILE_SUFFIX);
+        try {
+            // Write to a temporary file first, so readers never see a partial entry
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            try (BinaryChannelWriter out = new BinaryChannelWriter(temp)) {
+                out.putInt(BinaryResultFormat.MAGIC);
+                out.putInt(BinaryResultFormat.VERSION);
+                BinaryResultFormat.writeMSTResult(out, result);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Cache key of a graph for an engine: engine name, content hash and node/edge counts.
+     */
+    public static String key(Graph graph, MSTEngine engine) {
+        long[] hash = contentHash(graph);
+        return String.format("%s-%016x%016x-%d-%d", engine.name().toLowerCase(Locale.ROOT),
+                             hash[0], hash[1], graph.getVertexCount(), graph.getEdgeCount());
+    }
+
+    /**
+     * 128-bit hash of a graph's node list and edge multiset, independent of edge order and
+     * direction. The graph id is not part of the content.
+     */
+    public static long[] contentHash(Graph graph) {
+        long low = 0;
+        long high = 0;
+        List<String> nodes = graph.getNodes();
+        for (int i = 0; i < nodes.size(); i++) {
+            low += mix(hashString(nodes.get(i), 0x9E3779B97F4A7C15L) + mix(i + 0x2545F4914F6CDD1DL));
+            high += mix(hashString(nodes.get(i), 0xC2B2AE3D27D4EB4FL) + mix(i + 0x632BE59BD9B4E019L));
+        }
+        for (Edge edge : graph.getEdges()) {
+            String a = edge.getFrom();
+            String b = edge.getTo();
+            if (a.compareTo(b) > 0) {
+                String tmp = a;
+                a = b;
+                b = tmp;
+            }
+            low += edgeHash(a, b, edge.getWeight(), 0x165667B19E3779F9L);
+            high += edgeHash(a, b, edge.getWeight(), 0xD6E8FEB86659FD93L);
+        }
+        return new long[] {low, high};
+    }
+
+    private static long edgeHash(String from, String to, int weight, long seed) {
+        long h = mix(hashString(from, seed) + 1);
+        h = mix(h ^ hashString(to, seed));
+        return mix(h ^ (weight & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Seeded FNV-1a over the UTF-16 code units of a string.
+     */
+    private static long hashString(String value, long seed) {
+        long h = 0xCBF29CE484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001B3L;
+        }
+        return h;
+    }
+
+    /**
+     * SplitMix64 finalizer.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Hits served by the on-disk tier; included in the hit count.
+     */
+    public synchronized long getDiskHitCount() {
+        return diskHits;
+    }
+
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return memory.size();
+    }
+
+    public synchronized void clear() {
+        memory.clear();
+    }
+}
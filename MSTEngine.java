@@ -0,0 +1,102 @@
+package com.socialnetwork;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * All MST implementations behind a single selector, so drivers can pick one per run.
+ */
+public enum MSTEngine {
+    /** Original name-based lazy Prim. */
+    PRIM,
+    PRIM_BINARY_HEAP,
+    PRIM_QUATERNARY_HEAP,
+    PRIM_PAIRING_HEAP,
+    PRIM_DENSE,
+    /** Original name-based Kruskal. */
+    KRUSKAL,
+    KRUSKAL_FILTER,
+    /** Filter-Kruskal with concurrent cycle pre-filtering on the common pool. */
+    KRUSKAL_FILTER_PARALLEL,
+    BORUVKA;
+
+    /**
+     * Whether this engine reports each MST edge in the direction it is stored in the input graph.
+     * The Prim engines instead orient edges from parent to child in their search tree.
+     */
+    boolean orientsEdgesByInput() {
+        switch (this) {
+            case KRUSKAL:
+            case KRUSKAL_FILTER:
+            case KRUSKAL_FILTER_PARALLEL:
+            case BORUVKA:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Whether this engine hands part of its work to the common pool, so the calling thread's
+     * CPU clock and allocation counter do not see all of it.
+     */
+    boolean usesCommonPool() {
+        return this == KRUSKAL_FILTER_PARALLEL || this == BORUVKA;
+    }
+
+    /**
+     * Runs this engine on the given graph.
+     */
+    public MSTResult findMST(Graph graph) {
+        return findMST(graph, OperationCounter.counting());
+    }
+
+    /**
+     * Runs this engine on the given graph, reporting operations to the given counter.
+     * Pass {@link OperationCounter#NONE} to run without instrumentation.
+     */
+    public MSTResult findMST(Graph graph, OperationCounter counter) {
+        switch (this) {
+            case PRIM:
+                return PrimAlgorithm.findMST(graph, counter);
+            case PRIM_BINARY_HEAP:
+                return PrimAlgorithm.findMST(graph, PrimEngine.BINARY_HEAP, counter);
+            case PRIM_QUATERNARY_HEAP:
+                return PrimAlgorithm.findMST(graph, PrimEngine.QUATERNARY_HEAP, counter);
+            case PRIM_PAIRING_HEAP:
+                return PrimAlgorithm.findMST(graph, PrimEngine.PAIRING_HEAP, counter);
+            case PRIM_DENSE:
+                return PrimAlgorithm.findMST(graph, PrimEngine.DENSE, counter);
+            case KRUSKAL:
+                return KruskalAlgorithm.findMST(graph, counter);
+            case KRUSKAL_FILTER:
+                return KruskalAlgorithm.findMSTFiltered(graph.getCompactGraph(), null, counter);
+            case KRUSKAL_FILTER_PARALLEL:
+                return KruskalAlgorithm.findMSTFiltered(graph.getCompactGraph(), ForkJoinPool.commonPool(), counter);
+            case BORUVKA:
+                return BoruvkaAlgorithm.findMST(graph.getCompactGraph(), ForkJoinPool.commonPool(), counter);
+            default:
+                throw new IllegalStateException("Unknown engine: " + this);
+        }
+    }
+
+    /**
+     * Runs this engine on the given graph with the buffers of a reusable workspace, reporting
+     * operations to the workspace's counter. The eager heap Prims, dense Prim and Kruskal run on
+     * workspace buffers (KRUSKAL through the compact implementation, which picks the same edges);
+     * the other engines allocate as usual.
+     */
+    public MSTResult findMST(Graph graph, MSTWorkspace workspace) {
+        switch (this) {
+            case PRIM_BINARY_HEAP:
+                return PrimAlgorithm.findMST(graph.getCompactGraph(), PrimEngine.BINARY_HEAP, workspace);
+            case PRIM_QUATERNARY_HEAP:
+                return PrimAlgorithm.findMST(graph.getCompactGraph(), PrimEngine.QUATERNARY_HEAP, workspace);
+            case PRIM_DENSE:
+                return PrimAlgorithm.findMST(graph.getCompactGraph(), PrimEngine.DENSE, workspace);
+            case KRUSKAL:
+                return KruskalAlgorithm.findMST(graph.getCompactGraph(), workspace);
+            default:
+                return findMST(graph, workspace.startRun());
+        }
+    }
+}
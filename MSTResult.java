@@ -1,21 +1,116 @@
 package com.socialnetwork;
 
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Stores the result of MST algorithm execution.
+ * Operation counts are 64-bit; results produced with an {@link OperationCounter} also keep
+ * the per-category breakdown.
+ * For a disconnected graph the edges form a minimum spanning forest with one tree per
+ * connected component; components are numbered in order of their first vertex in the graph.
+ * Results measured with an {@link MSTTimer} also carry {@link TimingStats} over repeated trials.
  */
 public class MSTResult {
     private final List<Edge> mstEdges;
     private final int totalCost;
-    private final int operationsCount;
+    private final int[] componentCosts; // Null if the result does not record its components
+    private final long operationsCount;
+    private final long[] operationBreakdown; // By category ordinal, null if only the total is known
     private final double executionTimeMs;
+    private final TimingStats timingStats; // Null for a single timed run
 
-    public MSTResult(List<Edge> mstEdges, int totalCost, int operationsCount, double executionTimeMs) {
+    /**
+     * Creates a result without component information; it is reported as a single tree.
+     */
+    public MSTResult(List<Edge> mstEdges, int totalCost, long operationsCount, double executionTimeMs) {
+        this(mstEdges, totalCost, null, operationsCount, null, executionTimeMs);
+    }
+
+    /**
+     * Creates a result with a snapshot of the given counter's totals; it is reported as a single tree.
+     */
+    public MSTResult(List<Edge> mstEdges, int totalCost, OperationCounter operations, double executionTimeMs) {
+        this(mstEdges, totalCost, null, operations, executionTimeMs);
+    }
+
+    /**
+     * Creates a spanning forest result.
+     * @param componentCosts Cost of the tree spanning each connected component, used as-is
+     */
+    public MSTResult(List<Edge> mstEdges, int totalCost, int[] componentCosts, long operationsCount,
+                     double executionTimeMs) {
+        this(mstEdges, totalCost, componentCosts, operationsCount, null, executionTimeMs);
+    }
+
+    /**
+     * Creates a spanning forest result with a snapshot of the given counter's totals.
+     * @param componentCosts Cost of the tree spanning each connected component, used as-is
+     */
+    public MSTResult(List<Edge> mstEdges, int totalCost, int[] componentCosts, OperationCounter operations,
+                     double executionTimeMs) {
+        this(mstEdges, totalCost, componentCosts, operations.getTotal(), snapshot(operations), executionTimeMs);
+    }
+
+    private MSTResult(List<Edge> mstEdges, int totalCost, int[] componentCosts, long operationsCount,
+                      long[] operationBreakdown, double executionTimeMs) {
+        this(mstEdges, totalCost, componentCosts, operationsCount, operationBreakdown, executionTimeMs, null);
+    }
+
+    private MSTResult(List<Edge> mstEdges, int totalCost, int[] componentCosts, long operationsCount,
+                      long[] operationBreakdown, double executionTimeMs, TimingStats timingStats) {
         this.mstEdges = mstEdges;
         this.totalCost = totalCost;
+        this.componentCosts = componentCosts;
         this.operationsCount = operationsCount;
+        this.operationBreakdown = operationBreakdown;
         this.executionTimeMs = executionTimeMs;
+        this.timingStats = timingStats;
+    }
+
+    /**
+     * Recreates a stored result with all of its details, e.g. when reading it back from disk.
+     * @param operationBreakdown Counts by category ordinal, or null if only the total is known
+     * @param timingStats Trial statistics, or null for a single timed run
+     */
+    static MSTResult restore(List<Edge> mstEdges, int totalCost, int[] componentCosts, long operationsCount,
+                             long[] operationBreakdown, double executionTimeMs, TimingStats timingStats) {
+        return new MSTResult(mstEdges, totalCost, componentCosts, operationsCount, operationBreakdown,
+                executionTimeMs, timingStats);
+    }
+
+    private static long[] snapshot(OperationCounter operations) {
+        OperationCounter.Category[] categories = OperationCounter.Category.values();
+        long[] counts = new long[categories.length];
+        for (OperationCounter.Category category : categories) {
+            counts[category.ordinal()] = operations.get(category);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the same result with a different execution time, e.g. one measured by the caller.
+     */
+    public MSTResult withExecutionTimeMs(double executionTimeMs) {
+        return new MSTResult(mstEdges, totalCost, componentCosts, operationsCount, operationBreakdown,
+                executionTimeMs, timingStats);
+    }
+
+    /**
+     * Returns the same result with the given trial statistics; its execution time becomes the median trial.
+     */
+    public MSTResult withTimingStats(TimingStats timingStats) {
+        return new MSTResult(mstEdges, totalCost, componentCosts, operationsCount, operationBreakdown,
+                timingStats.getMedianMs(), timingStats);
+    }
+
+    /**
+     * Returns the same result with the given edges, e.g. the stored edges re-oriented for another graph.
+     */
+    MSTResult withMstEdges(List<Edge> mstEdges) {
+        return new MSTResult(mstEdges, totalCost, componentCosts, operationsCount, operationBreakdown,
+                executionTimeMs, timingStats);
     }
 
     public List<Edge> getMstEdges() {
@@ -26,18 +121,66 @@ public class MSTResult {
         return totalCost;
     }
 
+    /**
+     * Number of trees in the spanning forest, i.e. connected components of the input graph.
+     */
+    public int getComponentCount() {
+        return componentCosts == null ? 1 : componentCosts.length;
+    }
+
+    /**
+     * Cost of the tree spanning each component, in component order.
+     */
+    public int[] getComponentCosts() {
+        return componentCosts == null ? new int[] {totalCost} : componentCosts.clone();
+    }
+
+    /**
+     * Returns true if the edges form a single spanning tree.
+     */
+    public boolean isSpanningTree() {
+        return getComponentCount() <= 1;
+    }
+
+    /**
+     * Total operation count, capped at Integer.MAX_VALUE.
+     * @see #getTotalOperations()
+     */
     public int getOperationsCount() {
+        return (int) Math.min(operationsCount, Integer.MAX_VALUE);
+    }
+
+    public long getTotalOperations() {
         return operationsCount;
     }
 
+    /**
+     * Operation counts per category; empty if the result only carries a total.
+     */
+    public Map<OperationCounter.Category, Long> getOperationBreakdown() {
+        Map<OperationCounter.Category, Long> breakdown = new EnumMap<>(OperationCounter.Category.class);
+        if (operationBreakdown != null) {
+            for (OperationCounter.Category category : OperationCounter.Category.values()) {
+                breakdown.put(category, operationBreakdown[category.ordinal()]);
+            }
+        }
+        return breakdown;
+    }
+
     public double getExecutionTimeMs() {
         return executionTimeMs;
     }
 
+    /**
+     * Statistics over repeated trials, or null if the execution time is a single run.
+     */
+    public TimingStats getTimingStats() {
+        return timingStats;
+    }
+
     @Override
     public String toString() {
-        return String.format("MSTResult{edges=%d, cost=%d, ops=%d, time=%.2fms}",
-                mstEdges.size(), totalCost, operationsCount, executionTimeMs);
+        return String.format("MSTResult{edges=%d, cost=%d, components=%d, ops=%d, time=%.2fms}",
+                mstEdges.size(), totalCost, getComponentCount(), operationsCount, executionTimeMs);
     }
 }
-
@@ -0,0 +1,213 @@
+package com.socialnetwork;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Embedded HTTP service that keeps a warm JVM around the MST engines.
+ *
+ * <pre>
+ * POST /mst?engine=KRUSKAL   body: graphs in the JSON input format ({"graphs": [...]})
+ * GET  /health
+ * </pre>
+ *
+ * Every graph in a request is solved with the selected engine (default {@link MSTEngine#KRUSKAL})
+ * and the results are returned as {"results": [{graph_id, input_stats, engine, mst}, ...]} in input order.
+ * Each request runs on its own virtual thread when the JVM has them, otherwise on a pooled thread.
+ * At most {@code workers} graphs are solved at once; up to {@code queueCapacity} further requests
+ * wait for a worker, and requests beyond that are rejected with 503 instead of piling up.
+ */
+public class MSTService implements Closeable {
+    static final MSTEngine DEFAULT_ENGINE = MSTEngine.KRUSKAL;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore admitted;
+    private final Semaphore workers;
+
+    /**
+     * Binds the service; call {@link #start()} to accept requests.
+     * @param address Address to listen on; port 0 picks a free port
+     * @param workers Number of graphs solved concurrently
+     * @param queueCapacity Number of requests allowed to wait for a worker
+     */
+    public MSTService(InetSocketAddress address, int workers, int queueCapacity) throws IOException {
+        if (workers < 1 || queueCapacity < 0) {
+            throw new IllegalArgumentException("Need at least one worker and a non-negative queue capacity");
+        }
+        this.admitted = new Semaphore(workers + queueCapacity);
+        this.workers = new Semaphore(workers, true);
+        this.executor = newRequestExecutor();
+        this.server = HttpServer.create(address, 0);
+        this.server.setExecutor(executor);
+        this.server.createContext("/mst", this::handleMST);
+        this.server.createContext("/health", this::handleHealth);
+    }
+
+    /**
+     * One virtual thread per request on JDK 21+, found reflectively so the code still builds for
+     * Java 11; older JVMs fall back to a cached pool, which the admission limit keeps bounded.
+     */
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return Executors.newCachedThreadPool(task -> {
+                Thread thread = new Thread(task, "mst-service");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests and shuts down the request threads.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        sendText(exchange, 200, "ok");
+    }
+
+    private void handleMST(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendText(exchange, 405, "Use POST");
+                return;
+            }
+            if (!admitted.tryAcquire()) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendText(exchange, 503, "Too many pending requests");
+                return;
+            }
+            try {
+                serve(exchange);
+            } finally {
+                admitted.release();
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        MSTEngine engine;
+        List<Graph> graphs = new ArrayList<>();
+        try {
+            engine = parseEngine(exchange.getRequestURI().getRawQuery());
+            try (GraphStreamReader reader = new GraphStreamReader(
+                    new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                while (reader.hasNext()) {
+                    graphs.add(reader.next());
+                }
+            }
+        } catch (IllegalArgumentException | IllegalStateException | IOException | UncheckedIOException e) {
+            sendText(exchange, 400, "Bad request: " + e.getMessage());
+            return;
+        }
+
+        List<MSTResult> results = new ArrayList<>(graphs.size());
+        try {
+            for (Graph graph : graphs) {
+                results.add(solve(engine, graph));
+            }
+        } catch (RuntimeException e) {
+            sendText(exchange, 500, "MST job failed: " + e);
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8));
+        try (JsonResultWriter writer = new JsonResultWriter(out, true, false)) {
+            for (int i = 0; i < graphs.size(); i++) {
+                writer.write(graphs.get(i), engine, results.get(i));
+            }
+        }
+    }
+
+    /**
+     * Solves one graph once a worker is free. Waiting parks only this request's thread.
+     */
+    private MSTResult solve(MSTEngine engine, Graph graph) throws InterruptedIOException {
+        try {
+            workers.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a worker");
+        }
+        try {
+            return engine.findMST(graph);
+        } finally {
+            workers.release();
+        }
+    }
+
+    /**
+     * Reads the engine from the "engine" query parameter, case-insensitively.
+     */
+    static MSTEngine parseEngine(String rawQuery) {
+        if (rawQuery == null) {
+            return DEFAULT_ENGINE;
+        }
+        for (String parameter : rawQuery.split("&")) {
+            int split = parameter.indexOf('=');
+            String name = split < 0 ? parameter : parameter.substring(0, split);
+            if (name.equals("engine") && split >= 0) {
+                String value = URLDecoder.decode(parameter.substring(split + 1), StandardCharsets.UTF_8);
+                try {
+                    return MSTEngine.valueOf(value.toUpperCase(Locale.ROOT));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown engine: " + value
+                        + ", expected one of " + Arrays.toString(MSTEngine.values()));
+                }
+            }
+        }
+        return DEFAULT_ENGINE;
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] body = message.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Service driver: MSTService [port] [workers] [queueCapacity]
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 4 * workers;
+
+        MSTService service = new MSTService(new InetSocketAddress(port), workers, queueCapacity);
+        Runtime.getRuntime().addShutdownHook(new Thread(service::close));
+        service.start();
+        System.out.println("MST service listening on port " + service.getPort()
+            + " with " + workers + " workers and " + queueCapacity + " queued requests");
+    }
+}
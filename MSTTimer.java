@@ -0,0 +1,126 @@
+package com.socialnetwork;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures an engine with warm-up and repeated trials instead of a single cold run.
+ * The first run is counted and supplies the returned edges and operation counts; it also
+ * serves as the first warm-up. The remaining warm-up runs and all trials run without a
+ * counter, so the timed code is the same code a production caller would execute.
+ * The returned result reports the median trial as its execution time and carries the full
+ * {@link TimingStats}, including bytes allocated per trial and garbage collections.
+ */
+public class MSTTimer {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final int warmupRuns;
+    private final int trials;
+    private final boolean threadCpuTiming;
+
+    /**
+     * @param warmupRuns Untimed runs before the trials; at least one run always happens to produce the result
+     * @param trials Timed runs summarised in the statistics
+     * @param threadCpuTiming Time trials with the thread's CPU clock instead of wall-clock time, if the JVM
+     *                        supports it and thread CPU time measurement is enabled; otherwise the wall clock
+     *                        is used. Engines that use the common pool cannot be measured this way.
+     */
+    public MSTTimer(int warmupRuns, int trials, boolean threadCpuTiming) {
+        if (warmupRuns < 0 || trials < 1) {
+            throw new IllegalArgumentException("Need a non-negative warm-up count and at least one trial");
+        }
+        this.warmupRuns = warmupRuns;
+        this.trials = trials;
+        // The enabled flag is JVM-wide, so it is left to the caller
+        this.threadCpuTiming = threadCpuTiming && THREADS.isCurrentThreadCpuTimeSupported()
+            && THREADS.isThreadCpuTimeEnabled();
+    }
+
+    public int getWarmupRuns() {
+        return warmupRuns;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    /**
+     * Whether trials are timed with the calling thread's CPU clock.
+     */
+    public boolean isThreadCpuTiming() {
+        return threadCpuTiming;
+    }
+
+    /**
+     * Runs the engine warmupRuns + trials times (at least once more than trials) on the calling thread.
+     * @throws IllegalArgumentException If timing by thread CPU clock and the engine uses the common pool
+     */
+    public MSTResult measure(MSTEngine engine, Graph graph) {
+        if (threadCpuTiming && engine.usesCommonPool()) {
+            throw new IllegalArgumentException(engine + " runs on the common pool; time it by wall clock");
+        }
+        MSTResult result = engine.findMST(graph);
+        int warmups = Math.max(warmupRuns, 1);
+        for (int i = 1; i < warmups; i++) {
+            engine.findMST(graph, OperationCounter.NONE);
+        }
+
+        double[] samples = new double[trials];
+        long startAllocated = allocatedBytes();
+        long startGcCount = gcCount();
+        long startGcTime = gcTimeMs();
+        for (int i = 0; i < trials; i++) {
+            long start = clock();
+            engine.findMST(graph, OperationCounter.NONE);
+            samples[i] = (clock() - start) / 1_000_000.0;
+        }
+        long endAllocated = allocatedBytes();
+
+        long allocatedPerRun = startAllocated < 0 || endAllocated < 0
+            ? TimingStats.UNKNOWN : (endAllocated - startAllocated) / trials;
+        TimingStats stats = TimingStats.of(warmups, samples, allocatedPerRun,
+                                           gcCount() - startGcCount, gcTimeMs() - startGcTime);
+        return result.withTimingStats(stats);
+    }
+
+    private long clock() {
+        return threadCpuTiming ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * Bytes allocated so far by the calling thread, or -1 if the JVM does not track it.
+     */
+    static long allocatedBytes() {
+        if (!(THREADS instanceof com.sun.management.ThreadMXBean)) {
+            return -1;
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * Collections so far across all collectors of the JVM.
+     */
+    static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(collector.getCollectionCount(), 0);
+        }
+        return count;
+    }
+
+    /**
+     * Accumulated collection time so far across all collectors of the JVM.
+     */
+    static long gcTimeMs() {
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(collector.getCollectionTime(), 0);
+        }
+        return time;
+    }
+}
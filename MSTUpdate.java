@@ -0,0 +1,47 @@
+package com.socialnetwork;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Tree edges that entered and left an {@link IncrementalMST} as the result of one update.
+ */
+public class MSTUpdate {
+    private final List<Edge> added;
+    private final List<Edge> removed;
+
+    public MSTUpdate(List<Edge> added, List<Edge> removed) {
+        this.added = added;
+        this.removed = removed;
+    }
+
+    public static MSTUpdate none() {
+        return new MSTUpdate(Collections.emptyList(), Collections.emptyList());
+    }
+
+    static MSTUpdate of(Edge added, Edge removed) {
+        List<Edge> addedList = new ArrayList<>(1);
+        List<Edge> removedList = new ArrayList<>(1);
+        if (added != null) addedList.add(added);
+        if (removed != null) removedList.add(removed);
+        return new MSTUpdate(addedList, removedList);
+    }
+
+    public List<Edge> getAdded() {
+        return added;
+    }
+
+    public List<Edge> getRemoved() {
+        return removed;
+    }
+
+    public boolean isChanged() {
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MSTUpdate{added=%s, removed=%s}", added, removed);
+    }
+}
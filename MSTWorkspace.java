@@ -0,0 +1,222 @@
+package com.socialnetwork;
+
+import java.util.Arrays;
+
+/**
+ * Scratch space that lets repeated MST runs reuse their per-vertex and per-edge buffers.
+ * Arrays, indexed heaps, the union-find and the sort buffers grow to the largest graph seen
+ * and are then reset instead of reallocated, so solving many graphs below the capacity limit
+ * allocates only the returned results. Graphs above the limit get a temporary workspace,
+ * which keeps one huge graph from pinning its buffers for the lifetime of the thread.
+ *
+ * A workspace is not thread-safe: use {@link #current()} or one instance per thread.
+ * Operation counts of workspace runs go to the workspace's own counter, which is reset at
+ * the start of every run.
+ */
+public class MSTWorkspace {
+    /** Default largest vertex count whose buffers are retained. */
+    public static final int DEFAULT_MAX_VERTICES = 1 << 16;
+    /** Default largest edge count whose buffers are retained. */
+    public static final int DEFAULT_MAX_EDGES = 1 << 20;
+
+    private static final ThreadLocal<MSTWorkspace> CURRENT = ThreadLocal.withInitial(MSTWorkspace::new);
+
+    private final int maxVertices;
+    private final int maxEdges;
+    private final OperationCounter counter;
+
+    private int[] keys = new int[0];
+    private int[] parents = new int[0];
+    private boolean[] inTree = new boolean[0];
+    private int[] remaining = new int[0];
+    private int[] componentCosts = new int[0];
+    private int[] treeVertices = new int[0];
+    private int[] treeWeights = new int[0];
+    private int[] edgeIds = new int[0];
+    private DaryIndexedHeap binaryHeap;
+    private DaryIndexedHeap quaternaryHeap;
+    private IntUnionFind unionFind;
+    private final EdgeSorter.Buffers sortBuffers = new EdgeSorter.Buffers();
+
+    /**
+     * Creates a counting workspace with the default capacity limits.
+     */
+    public MSTWorkspace() {
+        this(DEFAULT_MAX_VERTICES, DEFAULT_MAX_EDGES, OperationCounter.counting());
+    }
+
+    /**
+     * @param maxVertices Largest vertex count this workspace keeps buffers for
+     * @param maxEdges Largest edge count this workspace keeps buffers for
+     * @param counter Counter for all runs on this workspace, or {@link OperationCounter#NONE} to skip counting
+     */
+    public MSTWorkspace(int maxVertices, int maxEdges, OperationCounter counter) {
+        this.maxVertices = maxVertices;
+        this.maxEdges = maxEdges;
+        this.counter = counter;
+    }
+
+    /**
+     * Returns the calling thread's workspace, creating it on first use.
+     */
+    public static MSTWorkspace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns this workspace if a graph of the given size is within its limits,
+     * otherwise a throwaway workspace sized for that graph that shares this counter.
+     */
+    MSTWorkspace forGraph(int vertices, int edges) {
+        if (vertices <= maxVertices && edges <= maxEdges) {
+            return this;
+        }
+        return new MSTWorkspace(vertices, edges, counter);
+    }
+
+    /**
+     * Resets and returns the counter for a new run.
+     */
+    OperationCounter startRun() {
+        counter.reset();
+        return counter;
+    }
+
+    public OperationCounter getCounter() {
+        return counter;
+    }
+
+    /**
+     * Key array of length at least n with the first n entries set to Integer.MAX_VALUE.
+     */
+    int[] keys(int n) {
+        if (keys.length < n) {
+            keys = new int[grow(keys.length, n, maxVertices)];
+        }
+        Arrays.fill(keys, 0, n, Integer.MAX_VALUE);
+        return keys;
+    }
+
+    /**
+     * Parent array of length at least n with the first n entries set to -1.
+     */
+    int[] parents(int n) {
+        if (parents.length < n) {
+            parents = new int[grow(parents.length, n, maxVertices)];
+        }
+        Arrays.fill(parents, 0, n, -1);
+        return parents;
+    }
+
+    /**
+     * Flag array of length at least n with the first n entries cleared.
+     */
+    boolean[] inTree(int n) {
+        if (inTree.length < n) {
+            inTree = new boolean[grow(inTree.length, n, maxVertices)];
+        }
+        Arrays.fill(inTree, 0, n, false);
+        return inTree;
+    }
+
+    /**
+     * Uninitialised vertex list of length at least n.
+     */
+    int[] remaining(int n) {
+        if (remaining.length < n) {
+            remaining = new int[grow(remaining.length, n, maxVertices)];
+        }
+        return remaining;
+    }
+
+    /**
+     * Cost array of length at least n with the first n entries zeroed.
+     */
+    int[] componentCosts(int n) {
+        if (componentCosts.length < n) {
+            componentCosts = new int[grow(componentCosts.length, n, maxVertices)];
+        }
+        Arrays.fill(componentCosts, 0, n, 0);
+        return componentCosts;
+    }
+
+    /**
+     * Uninitialised tree edge endpoint array of length at least n.
+     */
+    int[] treeVertices(int n) {
+        if (treeVertices.length < n) {
+            treeVertices = new int[grow(treeVertices.length, n, maxVertices)];
+        }
+        return treeVertices;
+    }
+
+    /**
+     * Uninitialised tree edge weight array of length at least n.
+     */
+    int[] treeWeights(int n) {
+        if (treeWeights.length < n) {
+            treeWeights = new int[grow(treeWeights.length, n, maxVertices)];
+        }
+        return treeWeights;
+    }
+
+    /**
+     * Edge id array of length at least m holding 0..m-1 in its first m entries.
+     */
+    int[] edgeIds(int m) {
+        if (edgeIds.length < m) {
+            edgeIds = new int[grow(edgeIds.length, m, maxEdges)];
+        }
+        for (int e = 0; e < m; e++) {
+            edgeIds[e] = e;
+        }
+        return edgeIds;
+    }
+
+    /**
+     * Empty indexed heap of the given arity (2 or 4) for items 0..n-1, reporting to this workspace's counter.
+     */
+    DaryIndexedHeap heap(int arity, int n) {
+        DaryIndexedHeap heap = arity == 2 ? binaryHeap : quaternaryHeap;
+        if (heap == null || heap.getCapacity() < n) {
+            int capacity = grow(heap == null ? 0 : heap.getCapacity(), n, maxVertices);
+            heap = new DaryIndexedHeap(arity, capacity, counter);
+            if (arity == 2) {
+                binaryHeap = heap;
+            } else {
+                quaternaryHeap = heap;
+            }
+        } else {
+            heap.clear();
+        }
+        return heap;
+    }
+
+    /**
+     * Union-find over 0..n-1 with every element in its own set, reporting to this workspace's counter.
+     */
+    IntUnionFind unionFind(int n) {
+        if (unionFind == null) {
+            unionFind = new IntUnionFind(n, counter);
+        } else {
+            unionFind.reset(n);
+        }
+        return unionFind;
+    }
+
+    EdgeSorter.Buffers sortBuffers() {
+        return sortBuffers;
+    }
+
+    /**
+     * Doubles the current length until it covers the needed one, without exceeding the limit
+     * unless the request itself does.
+     */
+    private static int grow(int current, int needed, int limit) {
+        long length = Math.max(current, 16);
+        while (length < needed) {
+            length *= 2;
+        }
+        return (int) Math.max(needed, Math.min(length, limit));
+    }
+}
@@ -0,0 +1,341 @@
+package com.socialnetwork;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Edge list kept outside the Java heap for graphs too large to hold as {@link Edge} objects.
+ * Every edge is a packed 12-byte (from, to, weight) record of dense vertex ids in direct
+ * ByteBuffer segments of up to {@link #RECORDS_PER_SEGMENT} records, so the store can grow
+ * past 2 GB and the garbage collector never has to trace it. Only node names and per-vertex
+ * arrays live on the heap; memory is returned once the store becomes unreachable.
+ * Implements {@link EdgeSink}, so generators can stream edges straight into it.
+ */
+public class OffHeapEdgeStore implements EdgeSink {
+    static final int RECORD_BYTES = 3 * Integer.BYTES;
+    private static final int SEGMENT_SHIFT = 20;
+    static final int RECORDS_PER_SEGMENT = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = RECORDS_PER_SEGMENT - 1;
+    private static final int MIN_SEGMENT_RECORDS = 1 << 10;
+
+    private final int id;
+    private final String[] names;
+    private final Segments records;
+    private long edgeCount;
+
+    /**
+     * @param id Graph id reported in results
+     * @param names Node names indexed by dense vertex id
+     */
+    public OffHeapEdgeStore(int id, String[] names) {
+        this(id, names, new Segments(RECORD_BYTES));
+    }
+
+    private OffHeapEdgeStore(int id, String[] names, Segments records) {
+        this.id = id;
+        this.names = names;
+        this.records = records;
+    }
+
+    /**
+     * Copies the edges of an in-memory graph into a new store.
+     */
+    public static OffHeapEdgeStore fromGraph(CompactGraph graph) {
+        String[] names = new String[graph.getVertexCount()];
+        for (int v = 0; v < names.length; v++) {
+            names[v] = graph.getName(v);
+        }
+        OffHeapEdgeStore store = new OffHeapEdgeStore(graph.getId(), names);
+        store.records.ensureCapacity(graph.getEdgeCount());
+        for (int e = 0; e < graph.getEdgeCount(); e++) {
+            store.add(graph.getEdgeFrom(e), graph.getEdgeTo(e), graph.getEdgeWeight(e));
+        }
+        return store;
+    }
+
+    /**
+     * Appends an edge between two dense vertex ids.
+     */
+    public void add(int from, int to, int weight) {
+        records.ensureCapacity(edgeCount + 1);
+        setRecord(records, edgeCount++, from, to, weight);
+    }
+
+    @Override
+    public void put(int[] from, int[] to, int[] weight, int count) {
+        records.ensureCapacity(edgeCount + count);
+        for (int i = 0; i < count; i++) {
+            setRecord(records, edgeCount++, from[i], to[i], weight[i]);
+        }
+    }
+
+    private static void setRecord(Segments records, long e, int from, int to, int weight) {
+        ByteBuffer segment = records.segment(e);
+        int offset = records.offset(e);
+        segment.putInt(offset, from);
+        segment.putInt(offset + Integer.BYTES, to);
+        segment.putInt(offset + 2 * Integer.BYTES, weight);
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    public long getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * Returns the original name of vertex v.
+     */
+    public String getName(int v) {
+        return names[v];
+    }
+
+    public int getEdgeFrom(long e) {
+        return records.segment(e).getInt(records.offset(e));
+    }
+
+    public int getEdgeTo(long e) {
+        return records.segment(e).getInt(records.offset(e) + Integer.BYTES);
+    }
+
+    public int getEdgeWeight(long e) {
+        return records.segment(e).getInt(records.offset(e) + 2 * Integer.BYTES);
+    }
+
+    /**
+     * Creates an Edge object with the original node names, oriented from u to v.
+     */
+    public Edge toEdge(int u, int v, int weight) {
+        return new Edge(names[u], names[v], weight);
+    }
+
+    /**
+     * Bytes of direct memory reserved for the edge records.
+     */
+    public long getOffHeapBytes() {
+        return records.getBytes();
+    }
+
+    /**
+     * Returns an off-heap copy of this store with the edges in weight order.
+     * Uses the same stable counting sort as {@link EdgeSorter} on the weight offset from the
+     * minimum, in one pass for ranges up to {@link EdgeSorter#COUNTING_SORT_MAX_RANGE} and in two
+     * 16-bit digit passes otherwise. Ties keep their insertion order.
+     */
+    public OffHeapEdgeStore sortedByWeight() {
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (long e = 0; e < edgeCount; e++) {
+            int w = getEdgeWeight(e);
+            min = Math.min(min, w);
+            max = Math.max(max, w);
+        }
+
+        OffHeapEdgeStore sorted = allocate(edgeCount);
+        if (edgeCount == 0) {
+            return sorted;
+        }
+        if ((long) max - min < EdgeSorter.COUNTING_SORT_MAX_RANGE) {
+            countingPass(this, sorted, min, 0);
+        } else {
+            OffHeapEdgeStore lowDigitOrder = allocate(edgeCount);
+            countingPass(this, lowDigitOrder, min, 0);
+            countingPass(lowDigitOrder, sorted, min, 16);
+        }
+        return sorted;
+    }
+
+    private OffHeapEdgeStore allocate(long count) {
+        OffHeapEdgeStore store = new OffHeapEdgeStore(id, names);
+        store.records.ensureCapacity(count);
+        store.edgeCount = count;
+        return store;
+    }
+
+    /**
+     * Stable scatter of source into target by the 16-bit digit of (weight - min) at the given shift.
+     */
+    private static void countingPass(OffHeapEdgeStore source, OffHeapEdgeStore target, int min, int shift) {
+        long m = source.edgeCount;
+        long[] next = new long[EdgeSorter.COUNTING_SORT_MAX_RANGE + 1];
+        for (long e = 0; e < m; e++) {
+            next[digit(source.getEdgeWeight(e), min, shift) + 1]++;
+        }
+        for (int d = 0; d < EdgeSorter.COUNTING_SORT_MAX_RANGE; d++) {
+            next[d + 1] += next[d];
+        }
+        for (long e = 0; e < m; e++) {
+            int w = source.getEdgeWeight(e);
+            setRecord(target.records, next[digit(w, min, shift)]++, source.getEdgeFrom(e), source.getEdgeTo(e), w);
+        }
+    }
+
+    private static int digit(int weight, int min, int shift) {
+        return (int) ((((long) weight - min) >>> shift) & 0xFFFF);
+    }
+
+    /**
+     * Builds an off-heap CSR adjacency over this store. Row offsets are the only per-vertex
+     * data on the heap; each of the two directed slots per edge is an 8-byte (target, weight) record.
+     */
+    public Adjacency toAdjacency() {
+        int n = names.length;
+        long[] offsets = new long[n + 1];
+        // Count degrees
+        for (long e = 0; e < edgeCount; e++) {
+            offsets[getEdgeFrom(e) + 1]++;
+            offsets[getEdgeTo(e) + 1]++;
+        }
+        // Prefix sums give the start of every row
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+        // Scatter both directions of every edge into its row
+        Segments slots = new Segments(Adjacency.SLOT_BYTES);
+        slots.ensureCapacity(2 * edgeCount);
+        long[] next = new long[n];
+        System.arraycopy(offsets, 0, next, 0, n);
+        for (long e = 0; e < edgeCount; e++) {
+            int u = getEdgeFrom(e);
+            int v = getEdgeTo(e);
+            int w = getEdgeWeight(e);
+            Adjacency.setSlot(slots, next[u]++, v, w);
+            Adjacency.setSlot(slots, next[v]++, u, w);
+        }
+        return new Adjacency(names, offsets, slots);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("OffHeapEdgeStore{id=%d, vertices=%d, edges=%d}", id, names.length, edgeCount);
+    }
+
+    /**
+     * Off-heap compressed sparse row adjacency: the neighbours of vertex v are the slots
+     * start(v) .. end(v) - 1.
+     */
+    public static class Adjacency implements WeightedAdjacency {
+        private static final int SLOT_BYTES = 2 * Integer.BYTES;
+
+        private final String[] names;
+        private final long[] offsets;
+        private final Segments slots;
+
+        private Adjacency(String[] names, long[] offsets, Segments slots) {
+            this.names = names;
+            this.offsets = offsets;
+            this.slots = slots;
+        }
+
+        private static void setSlot(Segments slots, long slot, int target, int weight) {
+            ByteBuffer segment = slots.segment(slot);
+            int offset = slots.offset(slot);
+            segment.putInt(offset, target);
+            segment.putInt(offset + Integer.BYTES, weight);
+        }
+
+        @Override
+        public int getVertexCount() {
+            return names.length;
+        }
+
+        /**
+         * First adjacency slot of vertex v.
+         */
+        @Override
+        public long start(int v) {
+            return offsets[v];
+        }
+
+        /**
+         * One past the last adjacency slot of vertex v.
+         */
+        @Override
+        public long end(int v) {
+            return offsets[v + 1];
+        }
+
+        @Override
+        public int getTarget(long slot) {
+            return slots.segment(slot).getInt(slots.offset(slot));
+        }
+
+        @Override
+        public int getWeight(long slot) {
+            return slots.segment(slot).getInt(slots.offset(slot) + Integer.BYTES);
+        }
+
+        @Override
+        public Edge toEdge(int u, int v, int weight) {
+            return new Edge(names[u], names[v], weight);
+        }
+
+        public long getOffHeapBytes() {
+            return slots.getBytes();
+        }
+    }
+
+    /**
+     * Fixed-size records spread over direct buffers of up to RECORDS_PER_SEGMENT records each.
+     * Only the last segment may be partial; it grows by doubling until it is full.
+     */
+    private static final class Segments {
+        private final int recordBytes;
+        private final List<ByteBuffer> buffers = new ArrayList<>();
+        private long capacity;
+
+        Segments(int recordBytes) {
+            this.recordBytes = recordBytes;
+        }
+
+        ByteBuffer segment(long record) {
+            return buffers.get((int) (record >>> SEGMENT_SHIFT));
+        }
+
+        int offset(long record) {
+            return (int) (record & SEGMENT_MASK) * recordBytes;
+        }
+
+        /**
+         * Makes sure records 0..count-1 are backed by memory.
+         */
+        void ensureCapacity(long count) {
+            while (capacity < count) {
+                int last = buffers.size() - 1;
+                long needed = count - ((long) Math.max(last, 0) << SEGMENT_SHIFT);
+                if (last >= 0 && capacity < ((long) (last + 1) << SEGMENT_SHIFT)) {
+                    // Grow the partial last segment and copy its records over
+                    ByteBuffer old = buffers.get(last);
+                    int records = (int) Math.min(RECORDS_PER_SEGMENT,
+                        Math.max(needed, 2L * old.capacity() / recordBytes));
+                    ByteBuffer grown = allocate(records);
+                    old.clear();
+                    grown.put(old);
+                    grown.clear();
+                    buffers.set(last, grown);
+                    capacity = ((long) last << SEGMENT_SHIFT) + records;
+                } else {
+                    int records = (int) Math.min(RECORDS_PER_SEGMENT, Math.max(count - capacity, MIN_SEGMENT_RECORDS));
+                    buffers.add(allocate(records));
+                    capacity += records;
+                }
+            }
+        }
+
+        private ByteBuffer allocate(int records) {
+            return ByteBuffer.allocateDirect(records * recordBytes).order(ByteOrder.nativeOrder());
+        }
+
+        long getBytes() {
+            return capacity * recordBytes;
+        }
+    }
+}
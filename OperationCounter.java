@@ -0,0 +1,75 @@
+package com.socialnetwork;
+
+/**
+ * Receives the operation counts of the MST algorithms and of the heaps and disjoint sets they use.
+ * Counts are split by category and kept as 64-bit totals.
+ * {@link #NONE} ignores everything: its methods are empty, so once inlined the counting
+ * calls in the hot loops compile to nothing and uninstrumented runs pay no counting cost.
+ * Implementations are not required to be thread-safe.
+ */
+public interface OperationCounter {
+
+    /**
+     * Kinds of counted operations.
+     */
+    enum Category {
+        /** Heap inserts, extractions, key updates and sift comparisons. */
+        HEAP,
+        /** Disjoint-set finds and path steps. */
+        FIND,
+        /** Disjoint-set root comparisons and links. */
+        UNION,
+        /** Edges examined: adjacency scans, key scans, Kruskal edge iterations and filter checks. */
+        EDGE_SCAN,
+        /** Comparison estimate of edge sorting and partitioning. */
+        SORT,
+        /** Bookkeeping: marking vertices, adding tree edges, updating the cost. */
+        OTHER
+    }
+
+    /** Counter that drops all counts. */
+    OperationCounter NONE = new OperationCounter() {
+        @Override
+        public void add(Category category, long count) {
+        }
+
+        @Override
+        public long get(Category category) {
+            return 0;
+        }
+
+        @Override
+        public void reset() {
+        }
+    };
+
+    /**
+     * Adds count operations of the given category.
+     */
+    void add(Category category, long count);
+
+    /**
+     * Returns the operations counted so far in the given category.
+     */
+    long get(Category category);
+
+    /**
+     * Returns the operations counted so far over all categories.
+     */
+    default long getTotal() {
+        long total = 0;
+        for (Category category : Category.values()) {
+            total += get(category);
+        }
+        return total;
+    }
+
+    void reset();
+
+    /**
+     * Creates a counter that keeps a running total per category.
+     */
+    static OperationCounter counting() {
+        return new CountingOperationCounter();
+    }
+}
@@ -0,0 +1,175 @@
+package com.socialnetwork;
+
+import static com.socialnetwork.OperationCounter.Category.*;
+
+import java.util.Arrays;
+
+/**
+ * Indexed pairing heap stored in parallel int arrays.
+ * Insert and decrease-key are O(1) melds; extract-min uses the standard two-pass pairing.
+ */
+public class PairingIndexedHeap implements IndexedMinHeap {
+    private static final int NONE = -1;
+
+    private final int[] keys;
+    private final int[] child;    // leftmost child
+    private final int[] sibling;  // next sibling to the right
+    private final int[] prev;     // left sibling, or parent for a leftmost child
+    private final boolean[] inHeap;
+    private final int[] pairs;    // scratch space for two-pass pairing
+    private int root;
+    private int size;
+    private final OperationCounter counter;
+
+    public PairingIndexedHeap(int capacity) {
+        this(capacity, OperationCounter.counting());
+    }
+
+    /**
+     * @param counter Counter that receives the heap operations
+     */
+    public PairingIndexedHeap(int capacity, OperationCounter counter) {
+        this.keys = new int[capacity];
+        this.child = new int[capacity];
+        this.sibling = new int[capacity];
+        this.prev = new int[capacity];
+        this.inHeap = new boolean[capacity];
+        this.pairs = new int[capacity];
+        this.root = NONE;
+        Arrays.fill(child, NONE);
+        Arrays.fill(sibling, NONE);
+        Arrays.fill(prev, NONE);
+        this.counter = counter;
+    }
+
+    @Override
+    public void insert(int item, int key) {
+        if (inHeap[item]) {
+            throw new IllegalStateException("Item already in heap: " + item);
+        }
+        keys[item] = key;
+        child[item] = NONE;
+        sibling[item] = NONE;
+        prev[item] = NONE;
+        inHeap[item] = true;
+        size++;
+        counter.add(HEAP, 1); // Insert
+        root = meld(root, item);
+    }
+
+    @Override
+    public void decreaseKey(int item, int key) {
+        if (key > keys[item]) {
+            throw new IllegalArgumentException("New key is larger than current key");
+        }
+        keys[item] = key;
+        counter.add(HEAP, 1); // Update key
+        if (item == root) {
+            return;
+        }
+
+        // Cut the subtree rooted at item and meld it back with the root
+        int p = prev[item];
+        if (child[p] == item) {
+            child[p] = sibling[item];
+        } else {
+            sibling[p] = sibling[item];
+        }
+        if (sibling[item] != NONE) {
+            prev[sibling[item]] = p;
+        }
+        sibling[item] = NONE;
+        prev[item] = NONE;
+        counter.add(HEAP, 1); // Cut
+        root = meld(root, item);
+    }
+
+    @Override
+    public boolean contains(int item) {
+        return inHeap[item];
+    }
+
+    @Override
+    public int keyOf(int item) {
+        return keys[item];
+    }
+
+    @Override
+    public int extractMin() {
+        if (root == NONE) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int min = root;
+        root = combineSiblings(child[min]);
+        child[min] = NONE;
+        inHeap[min] = false;
+        size--;
+        counter.add(HEAP, 1); // Remove root
+        return min;
+    }
+
+    /**
+     * Two-pass pairing: meld siblings pairwise left to right, then fold the results right to left.
+     */
+    private int combineSiblings(int first) {
+        if (first == NONE) {
+            return NONE;
+        }
+        int count = 0;
+        int x = first;
+        while (x != NONE) {
+            int a = x;
+            int b = sibling[a];
+            x = b == NONE ? NONE : sibling[b];
+            sibling[a] = NONE;
+            prev[a] = NONE;
+            if (b != NONE) {
+                sibling[b] = NONE;
+                prev[b] = NONE;
+                a = meld(a, b);
+            }
+            pairs[count++] = a;
+        }
+        int result = pairs[count - 1];
+        for (int i = count - 2; i >= 0; i--) {
+            result = meld(pairs[i], result);
+        }
+        return result;
+    }
+
+    /**
+     * Links two detached trees, making the larger root the leftmost child of the smaller.
+     */
+    private int meld(int a, int b) {
+        if (a == NONE) return b;
+        if (b == NONE) return a;
+        counter.add(HEAP, 1); // Comparison
+        if (keys[b] < keys[a]) {
+            int tmp = a;
+            a = b;
+            b = tmp;
+        }
+        sibling[b] = child[a];
+        if (child[a] != NONE) {
+            prev[child[a]] = b;
+        }
+        prev[b] = a;
+        child[a] = b;
+        return a;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getTotalOperations() {
+        return counter.getTotal();
+    }
+}
@@ -0,0 +1,425 @@
+package com.socialnetwork;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntFunction;
+
+/**
+ * Parallel, seed-reproducible generator of random connected graphs with millions of nodes.
+ *
+ * Produces the same kind of graph as {@link GraphGenerator#generateGraph}: a random spanning tree
+ * (every vertex i &gt; 0 hangs off a uniform parent in [0, i)) plus uniformly chosen extra edges up to
+ * the requested density, with weights 1..100. The work is cut into fixed parts:
+ * <ul>
+ *   <li>tree parts: consecutive blocks of child vertices;</li>
+ *   <li>extra-edge parts: consecutive rows of the pair space, a row being all pairs (a, b) with
+ *       a &lt; b for one smaller endpoint a. Every part receives a share of the extra edges
+ *       proportional to the number of non-tree pairs it holds, so parts never overlap and need no
+ *       shared duplicate check.</li>
+ * </ul>
+ * Each part draws from its own SplittableRandom, seeded in part order from the graph seed, so the
+ * output only depends on the seed and never on the number of threads or on scheduling.
+ * Within a part, sparse samples are drawn by rejection against a primitive hash set of pair keys
+ * and dense samples by a single selection-sampling pass over the pairs.
+ */
+public class ParallelGraphGenerator {
+    private static final int MAX_WEIGHT = 100;
+    private static final int TREE_PART_SIZE = 1 << 16;
+    private static final long PAIRS_PER_PART = 1 << 20;
+
+    private final int nodeCount;
+    private final long extraEdgeCount;
+
+    // Spanning tree: parent[v] < v for every v > 0
+    private final int[] parent;
+    private final int[] treeWeight;
+
+    // Extra-edge parts: rows [rowStart[p], rowStart[p + 1]), their non-tree pairs and share of the extra edges
+    private final int[] rowStart;
+    private final long[] partAvailable;
+    private final long[] partEdgeStart;
+    private final long[] partSeeds;
+
+    /**
+     * Plans a graph and draws its spanning tree.
+     * @param nodeCount Number of nodes
+     * @param density Edge density (0.0 to 1.0, where 1.0 means complete graph)
+     * @param seed Seed; equal seeds give equal graphs
+     * @param pool Pool used to draw the spanning tree
+     */
+    public ParallelGraphGenerator(int nodeCount, double density, long seed, ForkJoinPool pool) {
+        if (nodeCount < 0) {
+            throw new IllegalArgumentException("Node count must not be negative: " + nodeCount);
+        }
+        this.nodeCount = nodeCount;
+        long maxEdges = (long) nodeCount * (nodeCount - 1) / 2; // Complete graph
+        long treeEdges = Math.max(nodeCount - 1, 0);
+        long targetEdges = Math.max(treeEdges, Math.min(maxEdges, (long) (maxEdges * density)));
+        this.extraEdgeCount = targetEdges - treeEdges;
+
+        // Part seeds are drawn in a fixed order: tree parts first, then extra-edge parts
+        SplittableRandom root = new SplittableRandom(seed);
+        int treeParts = (nodeCount + TREE_PART_SIZE - 1) / TREE_PART_SIZE;
+        long[] treeSeeds = new long[treeParts];
+        for (int p = 0; p < treeParts; p++) {
+            treeSeeds[p] = root.nextLong();
+        }
+
+        this.parent = new int[nodeCount];
+        this.treeWeight = new int[nodeCount];
+        ParallelLoops.parallelFor(pool, 0, treeParts, (first, last) -> {
+            for (int p = first; p < last; p++) {
+                SplittableRandom random = new SplittableRandom(treeSeeds[p]);
+                int end = Math.min(nodeCount, (p + 1) * TREE_PART_SIZE);
+                for (int v = Math.max(1, p * TREE_PART_SIZE); v < end; v++) {
+                    parent[v] = random.nextInt(v);
+                    treeWeight[v] = random.nextInt(MAX_WEIGHT) + 1;
+                }
+            }
+        }, 1);
+
+        // Non-tree pairs per row: a row loses one pair for every tree child of its vertex
+        int[] children = new int[nodeCount];
+        for (int v = 1; v < nodeCount; v++) {
+            children[parent[v]]++;
+        }
+        // Every part holds at least one row, so there are fewer parts than nodes
+        int[] starts = new int[Math.max(nodeCount, 1)];
+        long[] available = new long[Math.max(nodeCount, 1)];
+        int parts = 0;
+        int row = 0;
+        while (row < nodeCount - 1) {
+            starts[parts] = row;
+            long pairs = 0;
+            long free = 0;
+            while (row < nodeCount - 1 && pairs < PAIRS_PER_PART) {
+                pairs += nodeCount - 1 - row;
+                free += nodeCount - 1 - row - children[row];
+                row++;
+            }
+            available[parts++] = free;
+        }
+
+        long totalAvailable = maxEdges - treeEdges;
+        this.rowStart = Arrays.copyOf(starts, parts + 1);
+        rowStart[parts] = row;
+        this.partAvailable = Arrays.copyOf(available, parts);
+        this.partEdgeStart = new long[parts + 1];
+        this.partSeeds = new long[parts];
+        long cumulative = 0;
+        for (int p = 0; p < parts; p++) {
+            partSeeds[p] = root.nextLong();
+            cumulative += partAvailable[p];
+            // Share proportional to available pairs; never more than the part holds
+            partEdgeStart[p + 1] = multiplyDivide(extraEdgeCount, cumulative, totalAvailable);
+        }
+    }
+
+    /**
+     * Generates a random connected graph on the common pool.
+     * @param id Graph ID
+     * @param nodeCount Number of nodes
+     * @param density Edge density (0.0 to 1.0, where 1.0 means complete graph)
+     * @param seed Seed; equal seeds give equal graphs
+     */
+    public static CompactGraph generateGraph(int id, int nodeCount, double density, long seed) {
+        return generateGraph(id, nodeCount, density, seed, ForkJoinPool.commonPool());
+    }
+
+    public static CompactGraph generateGraph(int id, int nodeCount, double density, long seed, ForkJoinPool pool) {
+        return new ParallelGraphGenerator(nodeCount, density, seed, pool).toCompactGraph(id, pool);
+    }
+
+    /**
+     * Generates all edges into memory.
+     */
+    public CompactGraph toCompactGraph(int id, ForkJoinPool pool) {
+        long edgeCount = getEdgeCount();
+        if (edgeCount > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many edges for an in-memory graph: " + edgeCount);
+        }
+        int m = (int) edgeCount;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int[] weight = new int[m];
+        String[] names = new String[nodeCount];
+
+        ParallelLoops.parallelFor(pool, 0, nodeCount, (first, last) -> {
+            for (int v = first; v < last; v++) {
+                names[v] = "N" + v;
+            }
+            int treeFirst = Math.max(first, 1);
+            if (treeFirst < last) {
+                fillTreeEdges(treeFirst, last, from, to, weight, treeFirst - 1);
+            }
+        });
+        int treeEdges = Math.max(nodeCount - 1, 0);
+        ParallelLoops.parallelFor(pool, 0, getPartCount(), (first, last) -> {
+            for (int p = first; p < last; p++) {
+                fillPart(p, from, to, weight, treeEdges + (int) partEdgeStart[p]);
+            }
+        }, 1);
+
+        return new CompactGraph(id, names, from, to, weight);
+    }
+
+    /**
+     * Streams a generated graph to a file as it is produced: JSON if the name ends in ".json",
+     * the binary graph format otherwise. Memory use is bounded by a few parts per pool thread,
+     * independent of the edge count.
+     */
+    public static void generateToFile(String filename, int id, int nodeCount, double density, long seed,
+                                      ForkJoinPool pool) throws IOException {
+        ParallelGraphGenerator generator = new ParallelGraphGenerator(nodeCount, density, seed, pool);
+        if (generator.getEdgeCount() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many edges for one graph: " + generator.getEdgeCount());
+        }
+        IntFunction<String> names = v -> "N" + v;
+        if (filename.endsWith(".json")) {
+            try (JsonGraphWriter writer = JsonGraphWriter.open(filename, false)) {
+                generator.writeEdges(writer.beginGraph(id, nodeCount, names), pool);
+                writer.endGraph();
+            }
+        } else {
+            try (BinaryGraphFormat.Writer writer = new BinaryGraphFormat.Writer(Paths.get(filename))) {
+                generator.writeEdges(writer.beginGraph(id, nodeCount, names, (int) generator.getEdgeCount()), pool);
+                writer.endGraph();
+            }
+        }
+    }
+
+    /**
+     * Hands all edges to the sink in the same order as {@link #toCompactGraph}: the spanning
+     * tree first, then the extra-edge parts. Parts are generated a batch at a time, one per
+     * pool thread, and passed on in order.
+     */
+    public void writeEdges(EdgeSink sink, ForkJoinPool pool) throws IOException {
+        int[] from = new int[TREE_PART_SIZE];
+        int[] to = new int[TREE_PART_SIZE];
+        int[] weight = new int[TREE_PART_SIZE];
+        for (int first = 1; first < nodeCount; first += TREE_PART_SIZE) {
+            int last = Math.min(nodeCount, first + TREE_PART_SIZE);
+            fillTreeEdges(first, last, from, to, weight, 0);
+            sink.put(from, to, weight, last - first);
+        }
+
+        int batch = Math.max(1, pool.getParallelism());
+        int[][] froms = new int[batch][];
+        int[][] tos = new int[batch][];
+        int[][] weights = new int[batch][];
+        for (int firstPart = 0; firstPart < getPartCount(); firstPart += batch) {
+            int base = firstPart;
+            int parts = Math.min(batch, getPartCount() - firstPart);
+            for (int i = 0; i < parts; i++) {
+                int size = getPartEdgeCount(base + i);
+                if (froms[i] == null || froms[i].length < size) {
+                    froms[i] = new int[size];
+                    tos[i] = new int[size];
+                    weights[i] = new int[size];
+                }
+            }
+            ParallelLoops.parallelFor(pool, 0, parts, (lo, hi) -> {
+                for (int i = lo; i < hi; i++) {
+                    fillPart(base + i, froms[i], tos[i], weights[i], 0);
+                }
+            }, 1);
+            for (int i = 0; i < parts; i++) {
+                sink.put(froms[i], tos[i], weights[i], getPartEdgeCount(base + i));
+            }
+        }
+    }
+
+    /**
+     * Writes the tree edges of vertices [first, last) (each joined to its parent) to the
+     * arrays starting at offset.
+     */
+    void fillTreeEdges(int first, int last, int[] from, int[] to, int[] weight, int offset) {
+        for (int v = first; v < last; v++) {
+            from[offset] = parent[v];
+            to[offset] = v;
+            weight[offset] = treeWeight[v];
+            offset++;
+        }
+    }
+
+    /**
+     * Writes the extra edges of one part to the arrays starting at offset.
+     * Always draws the same edges for the same part.
+     */
+    void fillPart(int part, int[] from, int[] to, int[] weight, int offset) {
+        int count = getPartEdgeCount(part);
+        if (count == 0) {
+            return;
+        }
+        SplittableRandom random = new SplittableRandom(partSeeds[part]);
+        int firstRow = rowStart[part];
+        int lastRow = rowStart[part + 1];
+        long firstPair = pairsBefore(firstRow);
+        long pairs = pairsBefore(lastRow) - firstPair;
+        long available = partAvailable[part];
+
+        if ((long) count * 4 < available) {
+            sampleByRejection(random, count, firstRow, lastRow, firstPair, pairs, from, to, weight, offset);
+        } else {
+            sampleBySelection(random, count, available, firstRow, lastRow, from, to, weight, offset);
+        }
+    }
+
+    /**
+     * Draws random pairs of the part and keeps the ones that are neither tree edges nor
+     * drawn before. Used while less than a quarter of the free pairs is taken, so most draws hit.
+     */
+    private void sampleByRejection(SplittableRandom random, int count, int firstRow, int lastRow,
+                                   long firstPair, long pairs, int[] from, int[] to, int[] weight, int offset) {
+        LongHashSet seen = new LongHashSet(count);
+        int written = 0;
+        while (written < count) {
+            long pair = firstPair + random.nextLong(pairs);
+
+            // Row a is the last row starting at or before the pair
+            int low = firstRow;
+            int high = lastRow - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (pairsBefore(mid) <= pair) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            int a = low;
+            int b = (int) (a + 1 + (pair - pairsBefore(a)));
+
+            if (parent[b] == a || !seen.add(pair)) {
+                continue;
+            }
+            from[offset + written] = a;
+            to[offset + written] = b;
+            weight[offset + written] = random.nextInt(MAX_WEIGHT) + 1;
+            written++;
+        }
+    }
+
+    /**
+     * Selection sampling (Knuth's Algorithm S): walks the non-tree pairs of the part once and
+     * keeps each with probability needed / remaining, which picks exactly count of them.
+     */
+    private void sampleBySelection(SplittableRandom random, int count, long available, int firstRow, int lastRow,
+                                   int[] from, int[] to, int[] weight, int offset) {
+        long remaining = available;
+        int needed = count;
+        for (int a = firstRow; a < lastRow && needed > 0; a++) {
+            for (int b = a + 1; b < nodeCount && needed > 0; b++) {
+                if (parent[b] == a) {
+                    continue; // Tree edge
+                }
+                if (random.nextLong(remaining) < needed) {
+                    from[offset] = a;
+                    to[offset] = b;
+                    weight[offset] = random.nextInt(MAX_WEIGHT) + 1;
+                    offset++;
+                    needed--;
+                }
+                remaining--;
+            }
+        }
+    }
+
+    /**
+     * Number of pairs (a, b) with a &lt; b in the rows before the given one.
+     */
+    private long pairsBefore(int row) {
+        return (long) row * (nodeCount - 1) - (long) row * (row - 1) / 2;
+    }
+
+    /**
+     * floor(a * b / c) without overflow, for 0 &lt;= a, b and b &lt;= c.
+     */
+    private static long multiplyDivide(long a, long b, long c) {
+        if (c == 0) {
+            return 0;
+        }
+        return BigInteger.valueOf(a).multiply(BigInteger.valueOf(b)).divide(BigInteger.valueOf(c)).longValueExact();
+    }
+
+    public int getVertexCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Total number of edges: the spanning tree plus the extra edges.
+     */
+    public long getEdgeCount() {
+        return Math.max(nodeCount - 1, 0) + extraEdgeCount;
+    }
+
+    /**
+     * Number of extra-edge parts.
+     */
+    int getPartCount() {
+        return partSeeds.length;
+    }
+
+    int getPartEdgeCount(int part) {
+        return (int) (partEdgeStart[part + 1] - partEdgeStart[part]);
+    }
+
+    /**
+     * Generates one large graph straight to disk:
+     * ParallelGraphGenerator &lt;output.json|output.bin&gt; &lt;nodes&gt; &lt;density&gt; [seed]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.err.println("Usage: ParallelGraphGenerator <output.json|output.bin> <nodes> <density> [seed]");
+            System.exit(1);
+        }
+        int nodes = Integer.parseInt(args[1]);
+        double density = Double.parseDouble(args[2]);
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+
+        long start = System.nanoTime();
+        generateToFile(args[0], 1, nodes, density, seed, ForkJoinPool.commonPool());
+        System.out.printf("Generated %d nodes at density %s to %s in %.1f s%n",
+                          nodes, args[2], args[0], (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Open-addressing set of non-negative longs with linear probing.
+     */
+    private static final class LongHashSet {
+        private static final long EMPTY = -1;
+
+        private final long[] slots;
+        private final int mask;
+
+        LongHashSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 2) * 2 - 1) << 1;
+            this.slots = new long[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(slots, EMPTY);
+        }
+
+        /**
+         * @return true if the value was not in the set yet
+         */
+        boolean add(long value) {
+            int i = (int) (mixHash(value) & mask);
+            while (slots[i] != EMPTY) {
+                if (slots[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            slots[i] = value;
+            return true;
+        }
+
+        private static long mixHash(long z) {
+            z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+            return z ^ (z >>> 33);
+        }
+    }
+}
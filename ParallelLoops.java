@@ -0,0 +1,105 @@
+package com.socialnetwork;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntPredicate;
+
+/**
+ * Fork/join helpers for data-parallel loops over index ranges.
+ */
+final class ParallelLoops {
+    /** Work items handled by a single task before it stops splitting. */
+    static final int GRAIN_SIZE = 1 << 13;
+
+    private ParallelLoops() {
+    }
+
+    /**
+     * Loop body over a half-open index range.
+     */
+    interface RangeBody {
+        void run(int from, int to);
+    }
+
+    static void parallelFor(ForkJoinPool pool, int from, int to, RangeBody body) {
+        parallelFor(pool, from, to, body, GRAIN_SIZE);
+    }
+
+    static void parallelFor(ForkJoinPool pool, int from, int to, RangeBody body, int grain) {
+        if (to - from <= grain) {
+            body.run(from, to); // Too small to be worth a task
+            return;
+        }
+        pool.invoke(new RangeTask(from, to, grain, body));
+    }
+
+    /**
+     * Copies the values of source[from, to) accepted by keep into target starting at targetFrom,
+     * preserving their order. Each chunk counts its survivors in parallel, then copies them
+     * to its prefix-sum offset. Source and target may be the same array only if they do not overlap.
+     * @return Number of values copied
+     */
+    static int filter(ForkJoinPool pool, int[] source, int from, int to,
+                      int[] target, int targetFrom, IntPredicate keep) {
+        int length = to - from;
+        int chunks = Math.max(1, (length + GRAIN_SIZE - 1) / GRAIN_SIZE);
+        int[] offsets = new int[chunks + 1];
+
+        parallelFor(pool, 0, chunks, (first, last) -> {
+            for (int chunk = first; chunk < last; chunk++) {
+                int end = Math.min(to, from + (chunk + 1) * GRAIN_SIZE);
+                int kept = 0;
+                for (int i = from + chunk * GRAIN_SIZE; i < end; i++) {
+                    if (keep.test(source[i])) {
+                        kept++;
+                    }
+                }
+                offsets[chunk + 1] = kept;
+            }
+        }, 1);
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            offsets[chunk + 1] += offsets[chunk];
+        }
+        parallelFor(pool, 0, chunks, (first, last) -> {
+            for (int chunk = first; chunk < last; chunk++) {
+                int end = Math.min(to, from + (chunk + 1) * GRAIN_SIZE);
+                int out = targetFrom + offsets[chunk];
+                for (int i = from + chunk * GRAIN_SIZE; i < end; i++) {
+                    if (keep.test(source[i])) {
+                        target[out++] = source[i];
+                    }
+                }
+            }
+        }, 1);
+        return offsets[chunks];
+    }
+
+    /**
+     * Splits an index range in halves until it is at most one grain long.
+     */
+    private static class RangeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final RangeBody body;
+
+        RangeTask(int from, int to, int grain, RangeBody body) {
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                body.run(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new RangeTask(from, mid, grain, body), new RangeTask(mid, to, grain, body));
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.socialnetwork;
 
+import static com.socialnetwork.OperationCounter.Category.*;
+
 import java.util.*;
 
 /**
  * Implementation of Prim's algorithm for finding Minimum Spanning Tree.
  * Uses a priority queue to efficiently select the minimum weight edge.
+ * Disconnected graphs get a minimum spanning forest: once a tree cannot grow any further,
+ * the next one starts at the lowest vertex not reached yet, so no separate connectivity pass is needed.
  */
 public class PrimAlgorithm {
     
@@ -14,60 +18,490 @@ public class PrimAlgorithm {
      * @return MSTResult containing MST edges, cost, operations count, and execution time
      */
     public static MSTResult findMST(Graph graph) {
+        return findMST(graph, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using Prim's algorithm, reporting operations to the given counter.
+     * @param graph The input graph
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(Graph graph, OperationCounter counter) {
         long startTime = System.nanoTime();
-        int operationsCount = 0;
         
         List<String> nodes = graph.getNodes();
         Map<String, List<Edge>> adjacencyList = graph.getAdjacencyList();
         
-        // Handle empty or disconnected graphs
-        if (nodes.isEmpty() || !graph.isConnected()) {
-            long endTime = System.nanoTime();
-            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
-            return new MSTResult(new ArrayList<>(), 0, operationsCount, executionTimeMs);
-        }
-        
         List<Edge> mstEdges = new ArrayList<>();
         Set<String> visited = new HashSet<>();
         PriorityQueue<EdgeWithNode> pq = new PriorityQueue<>();
+        int[] componentCosts = new int[nodes.size()];
+        int componentCount = 0;
+        int totalCost = 0;
         
-        // Start from the first node
-        String startNode = nodes.get(0);
-        visited.add(startNode);
-        operationsCount++; // Add to visited set
+        // Grow one tree from every node that no earlier tree reached
+        for (int i = 0; i < nodes.size() && visited.size() < nodes.size(); i++) {
+            String startNode = nodes.get(i);
+            counter.add(OTHER, 1); // Check if visited
+            if (visited.contains(startNode)) {
+                continue;
+            }
+            visited.add(startNode);
+            counter.add(OTHER, 1); // Add to visited set
+            
+            // Add all edges from start node to priority queue
+            for (Edge edge : adjacencyList.get(startNode)) {
+                pq.offer(new EdgeWithNode(edge, edge.getTo()));
+                counter.add(HEAP, 1); // Offer to priority queue
+            }
+            
+            int treeCost = 0;
+            
+            // Continue until every node is visited or this tree cannot grow further
+            while (!pq.isEmpty() && visited.size() < nodes.size()) {
+                EdgeWithNode current = pq.poll();
+                counter.add(HEAP, 1); // Poll from priority queue
+                
+                String toNode = current.toNode;
+                
+                counter.add(OTHER, 1); // Check if visited
+                if (visited.contains(toNode)) {
+                    continue;
+                }
+                
+                // Add edge to MST
+                mstEdges.add(current.edge);
+                treeCost += current.edge.getWeight();
+                visited.add(toNode);
+                counter.add(OTHER, 3); // Add edge, update cost, mark visited
+                
+                // Add all edges from newly added node
+                for (Edge edge : adjacencyList.get(toNode)) {
+                    counter.add(EDGE_SCAN, 1); // Check edge
+                    if (!visited.contains(edge.getTo())) {
+                        pq.offer(new EdgeWithNode(edge, edge.getTo()));
+                        counter.add(HEAP, 1); // Offer to priority queue
+                    }
+                }
+            }
+            
+            componentCosts[componentCount++] = treeCost;
+            totalCost += treeCost;
+        }
         
-        // Add all edges from start node to priority queue
-        for (Edge edge : adjacencyList.get(startNode)) {
-            pq.offer(new EdgeWithNode(edge, edge.getTo()));
-            operationsCount++; // Offer to priority queue
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        
+        return new MSTResult(mstEdges, totalCost, Arrays.copyOf(componentCosts, componentCount),
+            counter, executionTimeMs);
+    }
+    
+    /**
+     * Finds MST using Prim's algorithm on the integer-indexed CSR representation.
+     * Candidate edges are kept in a primitive heap of packed (weight, adjacency slot) keys,
+     * so no objects are created until the result edges are mapped back to node names.
+     * @param graph The input graph in compact form
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph) {
+        return findMST(graph, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using lazy Prim on the compact representation, reporting operations to the given counter.
+     * @param graph The input graph in compact form
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[0], counter, executionTimeMs);
         }
         
+        boolean[] visited = new boolean[n];
+        int visitedCount = 0;
+        int[] treeSlots = new int[n - 1];
+        int treeSize = 0;
+        int[] componentCosts = new int[n];
+        int componentCount = 0;
+        LongMinHeap heap = new LongMinHeap(Math.max(16, 2 * graph.getEdgeCount()));
+        
         int totalCost = 0;
         
-        // Continue until we have V-1 edges or queue is empty
-        while (!pq.isEmpty() && mstEdges.size() < nodes.size() - 1) {
-            EdgeWithNode current = pq.poll();
-            operationsCount++; // Poll from priority queue
+        // Grow one tree from every vertex that no earlier tree reached
+        for (int root = 0; root < n && visitedCount < n; root++) {
+            counter.add(OTHER, 1); // Check if visited
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            visitedCount++;
+            counter.add(OTHER, 1); // Mark visited
+            for (int slot = graph.adjacencyStart(root); slot < graph.adjacencyEnd(root); slot++) {
+                heap.push(pack(graph.getWeight(slot), slot));
+                counter.add(HEAP, 1); // Push to heap
+            }
+            
+            int treeCost = 0;
             
-            String toNode = current.toNode;
+            while (!heap.isEmpty() && visitedCount < n) {
+                int slot = (int) heap.pop();
+                counter.add(HEAP, 1); // Pop from heap
+                
+                int toNode = graph.getTarget(slot);
+                counter.add(OTHER, 1); // Check if visited
+                if (visited[toNode]) {
+                    continue;
+                }
+                
+                treeSlots[treeSize++] = slot;
+                treeCost += graph.getWeight(slot);
+                visited[toNode] = true;
+                visitedCount++;
+                counter.add(OTHER, 3); // Add edge, update cost, mark visited
+                
+                for (int next = graph.adjacencyStart(toNode); next < graph.adjacencyEnd(toNode); next++) {
+                    counter.add(EDGE_SCAN, 1); // Check edge
+                    if (!visited[graph.getTarget(next)]) {
+                        heap.push(pack(graph.getWeight(next), next));
+                        counter.add(HEAP, 1); // Push to heap
+                    }
+                }
+            }
             
-            operationsCount++; // Check if visited
-            if (visited.contains(toNode)) {
+            componentCosts[componentCount++] = treeCost;
+            totalCost += treeCost;
+        }
+        
+        List<Edge> mstEdges = new ArrayList<>(treeSize);
+        for (int i = 0; i < treeSize; i++) {
+            int slot = treeSlots[i];
+            int to = graph.getTarget(slot);
+            int edgeId = graph.getEdgeId(slot);
+            int from = graph.getEdgeFrom(edgeId) == to ? graph.getEdgeTo(edgeId) : graph.getEdgeFrom(edgeId);
+            mstEdges.add(graph.toEdge(from, to, graph.getWeight(slot)));
+        }
+        
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        
+        return new MSTResult(mstEdges, totalCost, Arrays.copyOf(componentCosts, componentCount),
+            counter, executionTimeMs);
+    }
+    
+    /**
+     * Finds MST with the selected Prim engine.
+     * @param graph The input graph
+     * @param engine Lazy Prim, one of the eager indexed-heap variants, or the dense array scan
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(Graph graph, PrimEngine engine) {
+        return findMST(graph, engine, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST with the selected Prim engine, reporting operations to the given counter.
+     * @param graph The input graph
+     * @param engine Lazy Prim, one of the eager indexed-heap variants, or the dense array scan
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(Graph graph, PrimEngine engine, OperationCounter counter) {
+        CompactGraph compact = graph.getCompactGraph();
+        if (engine == PrimEngine.LAZY) {
+            return findMST(compact, counter);
+        }
+        if (engine == PrimEngine.DENSE) {
+            return findMSTDense(compact, counter);
+        }
+        return findMSTEager(compact, engine.createHeap(compact.getVertexCount(), counter), counter);
+    }
+    
+    /**
+     * Finds MST with the selected Prim engine on the buffers of a reusable workspace.
+     * The binary and 4-ary heap variants and the dense scan only allocate the result once the
+     * workspace has grown to the graph size; lazy Prim and the pairing heap allocate as usual.
+     * @param graph The input graph in compact form
+     * @param engine Prim engine to run
+     * @param workspace Scratch space, e.g. {@link MSTWorkspace#current()}; operations go to its counter
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(CompactGraph graph, PrimEngine engine, MSTWorkspace workspace) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        MSTWorkspace space = workspace.forGraph(n, graph.getEdgeCount());
+        OperationCounter counter = space.startRun();
+        if (engine == PrimEngine.LAZY) {
+            return findMST(graph, counter);
+        }
+        if (engine == PrimEngine.PAIRING_HEAP) {
+            return findMSTEager(graph, engine.createHeap(n, counter), counter);
+        }
+        if (n == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[0], counter, executionTimeMs);
+        }
+        
+        if (engine == PrimEngine.DENSE) {
+            return denseForest(graph, counter, startTime, space.keys(n), space.parents(n), space.inTree(n),
+                space.remaining(n), space.componentCosts(n));
+        }
+        IndexedMinHeap heap = space.heap(engine == PrimEngine.QUATERNARY_HEAP ? 4 : 2, n);
+        return eagerForest(WeightedAdjacency.of(graph), heap, counter, startTime, space.keys(n), space.parents(n),
+            space.inTree(n), space.componentCosts(n));
+    }
+    
+    /**
+     * Finds MST using eager Prim: every vertex outside the tree has at most one heap entry,
+     * keyed by the lightest known edge into the tree, and lighter edges use decrease-key.
+     * @param graph The input graph in compact form
+     * @param heap An empty indexed heap with capacity for all vertices; it counts its own
+     *             operations, so create it with the same counter to include them in the result
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTEager(CompactGraph graph, IndexedMinHeap heap, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[0], counter, executionTimeMs);
+        }
+        
+        int[] key = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(key, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        return eagerForest(WeightedAdjacency.of(graph), heap, counter, startTime, key, parent, new boolean[n],
+            new int[n]);
+    }
+    
+    /**
+     * Eager Prim main loop over caller-provided buffers, shared by the in-memory and off-heap graphs.
+     * @param key Length at least V, filled with Integer.MAX_VALUE
+     * @param parent Length at least V, filled with -1
+     * @param inTree Length at least V, all false
+     * @param componentCosts Length at least V, contents ignored
+     */
+    private static MSTResult eagerForest(WeightedAdjacency graph, IndexedMinHeap heap, OperationCounter counter,
+                                         long startTime, int[] key, int[] parent, boolean[] inTree,
+                                         int[] componentCosts) {
+        int n = graph.getVertexCount();
+        int treeVertexCount = 0;
+        int componentCount = 0;
+        
+        List<Edge> mstEdges = new ArrayList<>(n - 1);
+        int totalCost = 0;
+        
+        // Grow one tree from every vertex that no earlier tree reached
+        for (int root = 0; root < n && treeVertexCount < n; root++) {
+            counter.add(OTHER, 1); // Check if in tree
+            if (inTree[root]) {
                 continue;
             }
+            key[root] = 0;
+            heap.insert(root, 0); // The heap counts its own operations
+            
+            int treeCost = 0;
+            
+            while (!heap.isEmpty()) {
+                int u = heap.extractMin();
+                inTree[u] = true;
+                treeVertexCount++;
+                counter.add(OTHER, 1); // Mark in tree
+                
+                if (parent[u] != -1) {
+                    mstEdges.add(graph.toEdge(parent[u], u, key[u]));
+                    treeCost += key[u];
+                    counter.add(OTHER, 2); // Add edge, update cost
+                }
+                
+                for (long slot = graph.start(u); slot < graph.end(u); slot++) {
+                    int v = graph.getTarget(slot);
+                    int w = graph.getWeight(slot);
+                    counter.add(EDGE_SCAN, 1); // Check edge
+                    // A vertex without a parent has not been reached yet, so any edge improves it,
+                    // including one of weight Integer.MAX_VALUE
+                    if (inTree[v] || (parent[v] != -1 && w >= key[v])) {
+                        continue;
+                    }
+                    
+                    key[v] = w;
+                    parent[v] = u;
+                    if (heap.contains(v)) {
+                        heap.decreaseKey(v, w);
+                    } else {
+                        heap.insert(v, w);
+                    }
+                }
+            }
+            
+            componentCosts[componentCount++] = treeCost;
+            totalCost += treeCost;
+        }
+        
+        long endTime = System.nanoTime();
+        double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+        
+        return new MSTResult(mstEdges, totalCost, Arrays.copyOf(componentCosts, componentCount),
+            counter, executionTimeMs);
+    }
+    
+    /**
+     * Finds MST using eager Prim on an off-heap edge store.
+     * The store is turned into an off-heap CSR adjacency, so only the per-vertex key, parent
+     * and heap arrays and the resulting tree are allocated on the heap.
+     * @param edges The input graph as an off-heap edge list
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(OffHeapEdgeStore edges) {
+        return findMST(edges, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using eager Prim on an off-heap edge store, reporting operations to the given counter.
+     * @param edges The input graph as an off-heap edge list
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMST(OffHeapEdgeStore edges, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = edges.getVertexCount();
+        if (n == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[0], counter, executionTimeMs);
+        }
+        
+        IndexedMinHeap heap = PrimEngine.BINARY_HEAP.createHeap(n, counter);
+        int[] key = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(key, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        return eagerForest(edges.toAdjacency(), heap, counter, startTime, key, parent, new boolean[n], new int[n]);
+    }
+    
+    /**
+     * Finds MST using the array form of Prim's algorithm for dense graphs.
+     * The next vertex is chosen by scanning the key array of vertices still outside the tree,
+     * so each step costs O(V) and the whole run O(V^2 + E) without any priority queue.
+     * @param graph The input graph in compact form
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTDense(CompactGraph graph) {
+        return findMSTDense(graph, OperationCounter.counting());
+    }
+    
+    /**
+     * Finds MST using the dense array form of Prim's algorithm, reporting operations to the given counter.
+     * @param graph The input graph in compact form
+     * @param counter Operation counter, or {@link OperationCounter#NONE} to skip counting
+     * @return MSTResult containing MST edges, cost, operations count, and execution time
+     */
+    public static MSTResult findMSTDense(CompactGraph graph, OperationCounter counter) {
+        long startTime = System.nanoTime();
+        
+        int n = graph.getVertexCount();
+        if (n == 0) {
+            long endTime = System.nanoTime();
+            double executionTimeMs = (endTime - startTime) / 1_000_000.0;
+            return new MSTResult(new ArrayList<>(), 0, new int[0], counter, executionTimeMs);
+        }
+        
+        int[] key = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(key, Integer.MAX_VALUE);
+        Arrays.fill(parent, -1);
+        return denseForest(graph, counter, startTime, key, parent, new boolean[n], new int[n], new int[n]);
+    }
+    
+    /**
+     * Dense Prim main loop over caller-provided buffers.
+     * @param key Length at least V, filled with Integer.MAX_VALUE
+     * @param parent Length at least V, filled with -1
+     * @param inTree Length at least V, all false
+     * @param remaining Length at least V, contents ignored
+     * @param componentCosts Length at least V, filled with 0
+     */
+    private static MSTResult denseForest(CompactGraph graph, OperationCounter counter, long startTime,
+                                         int[] key, int[] parent, boolean[] inTree, int[] remaining,
+                                         int[] componentCosts) {
+        int n = graph.getVertexCount();
+        // Vertices not yet in the tree; the live prefix shrinks by swap-removal
+        for (int v = 0; v < n; v++) {
+            remaining[v] = v;
+        }
+        int remainingCount = n;
+        key[0] = 0;
+        int componentCount = 1;
+        
+        List<Edge> mstEdges = new ArrayList<>(n - 1);
+        int totalCost = 0;
+        
+        while (remainingCount > 0) {
+            // Scan for the cheapest vertex outside the tree
+            int bestIndex = 0;
+            for (int i = 1; i < remainingCount; i++) {
+                if (key[remaining[i]] < key[remaining[bestIndex]]) {
+                    bestIndex = i;
+                }
+            }
+            counter.add(EDGE_SCAN, remainingCount); // Key scan
             
-            // Add edge to MST
-            mstEdges.add(current.edge);
-            totalCost += current.edge.getWeight();
-            visited.add(toNode);
-            operationsCount += 3; // Add edge, update cost, mark visited
+            int u = remaining[bestIndex];
+            if (key[u] == Integer.MAX_VALUE && parent[u] == -1 && u != 0) {
+                // Either every remaining vertex is unreachable from the trees so far, or the only
+                // reachable ones are attached by edges of weight Integer.MAX_VALUE
+                for (int i = 0; i < remainingCount; i++) {
+                    if (parent[remaining[i]] != -1) {
+                        bestIndex = i;
+                        break;
+                    }
+                }
+                counter.add(EDGE_SCAN, remainingCount); // Reachable scan
+                u = remaining[bestIndex];
+            }
+            if (parent[u] == -1 && u != 0) {
+                // Start the next tree at the lowest remaining vertex, as the heap-based variants do
+                for (int i = 0; i < remainingCount; i++) {
+                    if (remaining[i] < remaining[bestIndex]) {
+                        bestIndex = i;
+                    }
+                }
+                counter.add(EDGE_SCAN, remainingCount); // Root scan
+                u = remaining[bestIndex];
+                componentCount++;
+            }
+            remaining[bestIndex] = remaining[--remainingCount];
+            inTree[u] = true;
+            counter.add(OTHER, 1); // Mark in tree
             
-            // Add all edges from newly added node
-            for (Edge edge : adjacencyList.get(toNode)) {
-                operationsCount++; // Check edge
-                if (!visited.contains(edge.getTo())) {
-                    pq.offer(new EdgeWithNode(edge, edge.getTo()));
-                    operationsCount++; // Offer to priority queue
+            if (parent[u] != -1) {
+                mstEdges.add(graph.toEdge(parent[u], u, key[u]));
+                componentCosts[componentCount - 1] += key[u];
+                totalCost += key[u];
+                counter.add(OTHER, 2); // Add edge, update cost
+            }
+            
+            for (int slot = graph.adjacencyStart(u); slot < graph.adjacencyEnd(u); slot++) {
+                int v = graph.getTarget(slot);
+                int w = graph.getWeight(slot);
+                counter.add(EDGE_SCAN, 1); // Check edge
+                if (!inTree[v] && (w < key[v] || parent[v] == -1)) {
+                    key[v] = w;
+                    parent[v] = u;
+                    counter.add(OTHER, 1); // Update key
                 }
             }
         }
@@ -75,7 +509,64 @@ public class PrimAlgorithm {
         long endTime = System.nanoTime();
         double executionTimeMs = (endTime - startTime) / 1_000_000.0;
         
-        return new MSTResult(mstEdges, totalCost, operationsCount, executionTimeMs);
+        return new MSTResult(mstEdges, totalCost, Arrays.copyOf(componentCosts, componentCount),
+            counter, executionTimeMs);
+    }
+    
+    private static long pack(int weight, int slot) {
+        return ((long) weight << 32) | (slot & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * Binary min-heap of primitive long keys.
+     */
+    private static class LongMinHeap {
+        private long[] keys;
+        private int size;
+        
+        LongMinHeap(int capacity) {
+            this.keys = new long[capacity];
+        }
+        
+        boolean isEmpty() {
+            return size == 0;
+        }
+        
+        void push(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (keys[parent] <= key) {
+                    break;
+                }
+                keys[i] = keys[parent];
+                i = parent;
+            }
+            keys[i] = key;
+        }
+        
+        long pop() {
+            long top = keys[0];
+            long last = keys[--size];
+            int i = 0;
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && keys[child + 1] < keys[child]) {
+                    child++;
+                }
+                if (last <= keys[child]) {
+                    break;
+                }
+                keys[i] = keys[child];
+                i = child;
+            }
+            keys[i] = last;
+            return top;
+        }
     }
     
     /**
@@ -0,0 +1,53 @@
+package com.socialnetwork;
+
+/**
+ * Selects the priority queue strategy used by {@link PrimAlgorithm}.
+ */
+public enum PrimEngine {
+    /** Lazy Prim: one heap entry per candidate edge, stale entries skipped on poll. */
+    LAZY,
+    /** Eager Prim over a binary indexed heap with decrease-key. */
+    BINARY_HEAP,
+    /** Eager Prim over a 4-ary indexed heap with decrease-key. */
+    QUATERNARY_HEAP,
+    /** Eager Prim over an indexed pairing heap with decrease-key. */
+    PAIRING_HEAP,
+    /** Array Prim: linear scan of the key array, O(V^2) with no heap at all. */
+    DENSE;
+
+    /**
+     * Picks the engine expected to be fastest for a graph of the given size.
+     * The O(V^2) scan wins once E log V grows past V^2, i.e. on near-complete graphs.
+     */
+    public static PrimEngine forGraph(int vertexCount, int edgeCount) {
+        if (vertexCount < 2) {
+            return BINARY_HEAP;
+        }
+        double heapWork = edgeCount * (Math.log(vertexCount) / Math.log(2));
+        double scanWork = (double) vertexCount * vertexCount;
+        return heapWork >= scanWork ? DENSE : BINARY_HEAP;
+    }
+
+    /**
+     * Creates the indexed heap used by the eager engines.
+     */
+    public IndexedMinHeap createHeap(int capacity) {
+        return createHeap(capacity, OperationCounter.counting());
+    }
+
+    /**
+     * Creates the indexed heap used by the eager engines, reporting to the given counter.
+     */
+    public IndexedMinHeap createHeap(int capacity, OperationCounter counter) {
+        switch (this) {
+            case BINARY_HEAP:
+                return new DaryIndexedHeap(2, capacity, counter);
+            case QUATERNARY_HEAP:
+                return new DaryIndexedHeap(4, capacity, counter);
+            case PAIRING_HEAP:
+                return new PairingIndexedHeap(capacity, counter);
+            default:
+                throw new UnsupportedOperationException(this + " does not use an indexed heap");
+        }
+    }
+}
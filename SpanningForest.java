@@ -0,0 +1,54 @@
+package com.socialnetwork;
+
+import java.util.Arrays;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Helpers for reporting a minimum spanning forest per connected component.
+ * Components are numbered in order of their lowest vertex id, which is also the order in
+ * which Prim starts its trees, so every engine reports the same sequence for the same graph.
+ */
+final class SpanningForest {
+
+    private SpanningForest() {
+    }
+
+    /**
+     * Groups the cost of a forest built by merging components (Kruskal, Boruvka) by component.
+     * A forest over n vertices with treeSize edges has exactly n - treeSize trees, so connected
+     * graphs are answered without looking at the sets at all.
+     * @param n Number of vertices
+     * @param root Maps a vertex to the representative of its component
+     * @param treeVertex One endpoint of every tree edge
+     * @param treeWeight Weight of every tree edge
+     * @param treeSize Number of tree edges
+     * @return Cost of each component's tree
+     */
+    static int[] componentCosts(int n, IntUnaryOperator root, int[] treeVertex, int[] treeWeight, int treeSize) {
+        int components = n - treeSize;
+        if (components <= 1) {
+            int totalCost = 0;
+            for (int i = 0; i < treeSize; i++) {
+                totalCost += treeWeight[i];
+            }
+            return components == 1 ? new int[] {totalCost} : new int[0];
+        }
+
+        // Number the representatives in order of the lowest vertex of their component
+        int[] componentOf = new int[n];
+        Arrays.fill(componentOf, -1);
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            int r = root.applyAsInt(v);
+            if (componentOf[r] < 0) {
+                componentOf[r] = next++;
+            }
+        }
+
+        int[] costs = new int[components];
+        for (int i = 0; i < treeSize; i++) {
+            costs[componentOf[root.applyAsInt(treeVertex[i])]] += treeWeight[i];
+        }
+        return costs;
+    }
+}
@@ -0,0 +1,124 @@
+package com.socialnetwork;
+
+import java.util.Arrays;
+
+/**
+ * Summary of repeated timed runs of one engine on one graph.
+ * Times are in milliseconds; percentiles use the nearest-rank method, so every reported
+ * value is an actual sample. Allocation is per run on the calling thread, and GC counts
+ * cover all collectors of the JVM during the timed trials.
+ */
+public class TimingStats {
+    /** Reported when the JVM cannot measure per-thread allocation. */
+    public static final long UNKNOWN = -1;
+
+    private final int warmupRuns;
+    private final int trials;
+    private final double minMs;
+    private final double medianMs;
+    private final double p95Ms;
+    private final double p99Ms;
+    private final double meanMs;
+    private final long allocatedBytesPerRun;
+    private final long gcCount;
+    private final long gcTimeMs;
+
+    /**
+     * Recreates statistics from their stored fields; use {@link #of} to summarise samples.
+     */
+    TimingStats(int warmupRuns, int trials, double minMs, double medianMs, double p95Ms, double p99Ms,
+                double meanMs, long allocatedBytesPerRun, long gcCount, long gcTimeMs) {
+        this.warmupRuns = warmupRuns;
+        this.trials = trials;
+        this.minMs = minMs;
+        this.medianMs = medianMs;
+        this.p95Ms = p95Ms;
+        this.p99Ms = p99Ms;
+        this.meanMs = meanMs;
+        this.allocatedBytesPerRun = allocatedBytesPerRun;
+        this.gcCount = gcCount;
+        this.gcTimeMs = gcTimeMs;
+    }
+
+    /**
+     * Summarises the given trial times.
+     * @param warmupRuns Untimed runs before the trials
+     * @param samplesMs Time of every trial, in any order
+     * @param allocatedBytesPerRun Average bytes allocated per trial, or {@link #UNKNOWN}
+     * @param gcCount Garbage collections during the trials
+     * @param gcTimeMs Accumulated collection time during the trials
+     */
+    public static TimingStats of(int warmupRuns, double[] samplesMs, long allocatedBytesPerRun,
+                                 long gcCount, long gcTimeMs) {
+        if (samplesMs.length == 0) {
+            throw new IllegalArgumentException("At least one sample is required");
+        }
+        double[] sorted = samplesMs.clone();
+        Arrays.sort(sorted);
+        double sum = 0;
+        for (double sample : sorted) {
+            sum += sample;
+        }
+        return new TimingStats(warmupRuns, sorted.length, sorted[0], percentile(sorted, 50),
+                               percentile(sorted, 95), percentile(sorted, 99), sum / sorted.length,
+                               allocatedBytesPerRun, gcCount, gcTimeMs);
+    }
+
+    /**
+     * Nearest-rank percentile of sorted samples.
+     */
+    static double percentile(double[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    public int getWarmupRuns() {
+        return warmupRuns;
+    }
+
+    public int getTrials() {
+        return trials;
+    }
+
+    public double getMinMs() {
+        return minMs;
+    }
+
+    public double getMedianMs() {
+        return medianMs;
+    }
+
+    public double getP95Ms() {
+        return p95Ms;
+    }
+
+    public double getP99Ms() {
+        return p99Ms;
+    }
+
+    public double getMeanMs() {
+        return meanMs;
+    }
+
+    /**
+     * Average bytes allocated by one trial on the measuring thread, or {@link #UNKNOWN}.
+     * Work that parallel engines hand to pool threads is not included.
+     */
+    public long getAllocatedBytesPerRun() {
+        return allocatedBytesPerRun;
+    }
+
+    public long getGcCount() {
+        return gcCount;
+    }
+
+    public long getGcTimeMs() {
+        return gcTimeMs;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimingStats{trials=%d, min=%.4fms, median=%.4fms, p95=%.4fms, p99=%.4fms, "
+                + "alloc=%dB, gc=%d}", trials, minMs, medianMs, p95Ms, p99Ms, allocatedBytesPerRun, gcCount);
+    }
+}
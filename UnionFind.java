@@ -1,84 +1,125 @@
 package com.socialnetwork;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
- * Union-Find (Disjoint Set Union) data structure with path compression and union by rank.
+ * Union-Find (Disjoint Set Union) over String elements.
+ * Names are interned to dense ids and the sets themselves live in an {@link IntUnionFind},
+ * which uses path halving and union by size.
  * Used in Kruskal's algorithm to detect cycles.
  */
 public class UnionFind {
-    private final Map<String, String> parent;
-    private final Map<String, Integer> rank;
-    private int operationsCount;
+    private final Map<String, Integer> ids;
+    private final List<String> names;
+    private final IntUnionFind sets;
+    private final OperationCounter operations; // Own operations only, even when a shared counter is given
 
     public UnionFind() {
-        this.parent = new HashMap<>();
-        this.rank = new HashMap<>();
-        this.operationsCount = 0;
+        this.ids = new HashMap<>();
+        this.names = new ArrayList<>();
+        this.operations = OperationCounter.counting();
+        this.sets = new IntUnionFind(0, operations);
+    }
+
+    /**
+     * Creates an empty structure that also reports its operations to the given counter,
+     * e.g. the counter of the algorithm using it. The operation count of this structure and
+     * its reset still cover only its own operations.
+     * Pass {@link OperationCounter#NONE} to run without counting.
+     */
+    public UnionFind(OperationCounter counter) {
+        this.ids = new HashMap<>();
+        this.names = new ArrayList<>();
+        if (counter == OperationCounter.NONE) {
+            this.operations = OperationCounter.NONE;
+            this.sets = new IntUnionFind(0, OperationCounter.NONE);
+        } else {
+            this.operations = OperationCounter.counting();
+            this.sets = new IntUnionFind(0, forwarding(operations, counter));
+        }
+    }
+
+    /**
+     * Counter that adds every count to both own and shared, and reads and resets only own.
+     */
+    private static OperationCounter forwarding(OperationCounter own, OperationCounter shared) {
+        return new OperationCounter() {
+            @Override
+            public void add(Category category, long count) {
+                own.add(category, count);
+                shared.add(category, count);
+            }
+
+            @Override
+            public long get(Category category) {
+                return own.get(category);
+            }
+
+            @Override
+            public void reset() {
+                own.reset();
+            }
+        };
     }
 
     /**
      * Adds a new element to the union-find structure.
      */
     public void makeSet(String x) {
-        if (!parent.containsKey(x)) {
-            parent.put(x, x);
-            rank.put(x, 0);
-            operationsCount += 2; // Put operations
+        if (!ids.containsKey(x)) {
+            ids.put(x, sets.add());
+            names.add(x);
         }
     }
 
     /**
      * Finds the representative (root) of the set containing x.
-     * Uses path compression for optimization.
      */
     public String find(String x) {
-        operationsCount++; // Find operation
-        if (!parent.get(x).equals(x)) {
-            parent.put(x, find(parent.get(x))); // Path compression
-            operationsCount++; // Recursive find
-        }
-        return parent.get(x);
+        return names.get(sets.find(idOf(x)));
     }
 
     /**
      * Unites the sets containing x and y.
-     * Uses union by rank for optimization.
      * @return true if union was performed, false if already in same set
      */
     public boolean union(String x, String y) {
-        String rootX = find(x);
-        String rootY = find(y);
-        
-        operationsCount++; // Comparison
-        if (rootX.equals(rootY)) {
-            return false; // Already in same set
-        }
+        return sets.union(idOf(x), idOf(y));
+    }
 
-        // Union by rank
-        operationsCount++; // Rank comparison
-        if (rank.get(rootX) < rank.get(rootY)) {
-            parent.put(rootX, rootY);
-            operationsCount++; // Update parent
-        } else if (rank.get(rootX) > rank.get(rootY)) {
-            parent.put(rootY, rootX);
-            operationsCount++; // Update parent
-        } else {
-            parent.put(rootY, rootX);
-            rank.put(rootX, rank.get(rootX) + 1);
-            operationsCount += 2; // Update parent and rank
+    /**
+     * Returns the dense id of x; ids are assigned in makeSet order starting at 0.
+     */
+    int idOf(String x) {
+        Integer id = ids.get(x);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown element: " + x);
         }
-        
-        return true;
+        return id;
+    }
+
+    /**
+     * Returns the id of the representative of the set containing the element with the given id.
+     */
+    int findId(int id) {
+        return sets.find(id);
     }
 
     public int getOperationsCount() {
-        return operationsCount;
+        return (int) Math.min(getTotalOperations(), Integer.MAX_VALUE);
+    }
+
+    public long getTotalOperations() {
+        return operations.getTotal();
     }
 
+    /**
+     * Resets the operations of this structure; a shared counter keeps what it has received.
+     */
     public void resetOperationsCount() {
-        this.operationsCount = 0;
+        operations.reset();
     }
 }
-
@@ -0,0 +1,67 @@
+package com.socialnetwork;
+
+/**
+ * Read access to a weighted adjacency structure in compressed sparse row form, so the same
+ * Prim loop runs over the in-memory {@link CompactGraph} and the off-heap
+ * {@link OffHeapEdgeStore.Adjacency}. The neighbours of vertex v are the slots start(v) .. end(v) - 1.
+ */
+interface WeightedAdjacency {
+
+    int getVertexCount();
+
+    /**
+     * First adjacency slot of vertex v.
+     */
+    long start(int v);
+
+    /**
+     * One past the last adjacency slot of vertex v.
+     */
+    long end(int v);
+
+    int getTarget(long slot);
+
+    int getWeight(long slot);
+
+    /**
+     * Creates an Edge object with the original node names, oriented from u to v.
+     */
+    Edge toEdge(int u, int v, int weight);
+
+    /**
+     * Adapts a compact graph, whose slots are int-indexed.
+     */
+    static WeightedAdjacency of(CompactGraph graph) {
+        return new WeightedAdjacency() {
+            @Override
+            public int getVertexCount() {
+                return graph.getVertexCount();
+            }
+
+            @Override
+            public long start(int v) {
+                return graph.adjacencyStart(v);
+            }
+
+            @Override
+            public long end(int v) {
+                return graph.adjacencyEnd(v);
+            }
+
+            @Override
+            public int getTarget(long slot) {
+                return graph.getTarget((int) slot);
+            }
+
+            @Override
+            public int getWeight(long slot) {
+                return graph.getWeight((int) slot);
+            }
+
+            @Override
+            public Edge toEdge(int u, int v, int weight) {
+                return graph.toEdge(u, v, weight);
+            }
+        };
+    }
+}
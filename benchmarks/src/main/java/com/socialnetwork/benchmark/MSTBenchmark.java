@@ -0,0 +1,74 @@
+package com.socialnetwork.benchmark;
+
+import com.socialnetwork.Graph;
+import com.socialnetwork.GraphGenerator;
+import com.socialnetwork.MSTEngine;
+import com.socialnetwork.MSTResult;
+import com.socialnetwork.OperationCounter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH harness for the MST engines.
+ * Every (vertexCount, density, engine) combination gets its own fixture from
+ * {@link GraphGenerator}; graphs are built once per trial so only the MST run is measured.
+ * Run with the GC profiler (the default in {@link #main}) to get allocation rates.
+ * Operation counting is off unless {@code -p countOperations=true} is given, so the default
+ * numbers are for uninstrumented runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class MSTBenchmark {
+
+    @Param({"300", "1000", "2000"})
+    public int vertexCount;
+
+    @Param({"0.05", "0.3", "1.0"})
+    public double density;
+
+    @Param({"PRIM", "PRIM_BINARY_HEAP", "PRIM_QUATERNARY_HEAP", "PRIM_PAIRING_HEAP", "PRIM_DENSE",
+            "KRUSKAL", "KRUSKAL_FILTER", "KRUSKAL_FILTER_PARALLEL", "BORUVKA"})
+    public String engine;
+
+    @Param({"false"})
+    public boolean countOperations;
+
+    private Graph graph;
+    private MSTEngine selected;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphGenerator.generateGraph(1, vertexCount, density);
+        graph.getCompactGraph(); // Build the cached CSR view outside the measurement
+        selected = MSTEngine.valueOf(engine);
+    }
+
+    @Benchmark
+    public MSTResult findMST() {
+        return selected.findMST(graph, countOperations ? OperationCounter.counting() : OperationCounter.NONE);
+    }
+
+    /**
+     * Runs all benchmarks with the GC profiler; extra JMH arguments can be passed to the shaded jar instead.
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        Options options = new OptionsBuilder()
+            .include(MSTBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
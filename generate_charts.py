@@ -25,6 +25,11 @@ def load_data(csv_file='assign_3_results.csv'):
     """Load and prepare data from CSV file"""
     try:
         df = pd.read_csv(csv_file)
+        # Prefer the median of repeated trials when the results were measured with warm-up
+        for algo in ('Prim', 'Kruskal'):
+            median = f'{algo}_Median_ms'
+            if median in df.columns and df[median].notna().all():
+                df[f'{algo}_Time_ms'] = df[median]
         print(f"✓ Loaded {len(df)} graphs from {csv_file}")
         return df
     except FileNotFoundError:
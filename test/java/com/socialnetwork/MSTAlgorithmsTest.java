@@ -1,314 +1,1363 @@
-package com.socialnetwork;
-
-import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.DisplayName;
-import org.junit.jupiter.api.BeforeEach;
-import static org.junit.jupiter.api.Assertions.*;
-
-import java.util.*;
-
-/**
- * Comprehensive JUnit tests for MST algorithms.
- * Tests both correctness and performance aspects of Prim's and Kruskal's algorithms.
- */
-public class MSTAlgorithmsTest {
-    
-    private Graph simpleGraph;
-    private Graph mediumGraph;
-    
-    @BeforeEach
-    public void setUp() {
-        // Create a simple test graph
-        List<String> nodes = Arrays.asList("A", "B", "C", "D", "E");
-        List<Edge> edges = Arrays.asList(
-            new Edge("A", "B", 4),
-            new Edge("A", "C", 3),
-            new Edge("B", "C", 2),
-            new Edge("B", "D", 5),
-            new Edge("C", "D", 7),
-            new Edge("C", "E", 8),
-            new Edge("D", "E", 6)
-        );
-        simpleGraph = new Graph(1, nodes, edges);
-        
-        // Create a medium test graph
-        List<String> nodes2 = Arrays.asList("A", "B", "C", "D");
-        List<Edge> edges2 = Arrays.asList(
-            new Edge("A", "B", 1),
-            new Edge("A", "C", 4),
-            new Edge("B", "C", 2),
-            new Edge("C", "D", 3),
-            new Edge("B", "D", 5)
-        );
-        mediumGraph = new Graph(2, nodes2, edges2);
-    }
-    
-    // ========== CORRECTNESS TESTS ==========
-    
-    @Test
-    @DisplayName("Both algorithms should produce same MST cost")
-    public void testBothAlgorithmsProduceSameCost() {
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost(),
-            "Prim and Kruskal should produce MSTs with same total cost");
-    }
-    
-    @Test
-    @DisplayName("MST should have V-1 edges for connected graph")
-    public void testMSTEdgeCount() {
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        int expectedEdges = simpleGraph.getVertexCount() - 1;
-        
-        assertEquals(expectedEdges, primResult.getMstEdges().size(),
-            "Prim's MST should have V-1 edges");
-        assertEquals(expectedEdges, kruskalResult.getMstEdges().size(),
-            "Kruskal's MST should have V-1 edges");
-    }
-    
-    @Test
-    @DisplayName("MST should be acyclic")
-    public void testMSTIsAcyclic() {
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertTrue(isAcyclic(primResult.getMstEdges(), simpleGraph.getNodes()),
-            "Prim's MST should be acyclic");
-        assertTrue(isAcyclic(kruskalResult.getMstEdges(), simpleGraph.getNodes()),
-            "Kruskal's MST should be acyclic");
-    }
-    
-    @Test
-    @DisplayName("MST should connect all vertices")
-    public void testMSTConnectsAllVertices() {
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertTrue(isConnected(primResult.getMstEdges(), simpleGraph.getNodes()),
-            "Prim's MST should connect all vertices");
-        assertTrue(isConnected(kruskalResult.getMstEdges(), simpleGraph.getNodes()),
-            "Kruskal's MST should connect all vertices");
-    }
-    
-    @Test
-    @DisplayName("Disconnected graph should be handled gracefully")
-    public void testDisconnectedGraph() {
-        // Create a disconnected graph
-        List<String> nodes = Arrays.asList("A", "B", "C", "D");
-        List<Edge> edges = Arrays.asList(
-            new Edge("A", "B", 1),
-            new Edge("C", "D", 2)
-        );
-        Graph disconnectedGraph = new Graph(3, nodes, edges);
-        
-        assertFalse(disconnectedGraph.isConnected(),
-            "Graph should be detected as disconnected");
-        
-        MSTResult primResult = PrimAlgorithm.findMST(disconnectedGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(disconnectedGraph);
-        
-        // For disconnected graph, MST should not have V-1 edges
-        assertTrue(primResult.getMstEdges().size() < nodes.size() - 1,
-            "Prim should not produce full MST for disconnected graph");
-        assertTrue(kruskalResult.getMstEdges().size() < nodes.size() - 1,
-            "Kruskal should not produce full MST for disconnected graph");
-    }
-    
-    @Test
-    @DisplayName("Empty graph should be handled")
-    public void testEmptyGraph() {
-        Graph emptyGraph = new Graph(4, new ArrayList<>(), new ArrayList<>());
-        
-        MSTResult primResult = PrimAlgorithm.findMST(emptyGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(emptyGraph);
-        
-        assertEquals(0, primResult.getTotalCost());
-        assertEquals(0, kruskalResult.getTotalCost());
-        assertEquals(0, primResult.getMstEdges().size());
-        assertEquals(0, kruskalResult.getMstEdges().size());
-    }
-    
-    @Test
-    @DisplayName("Single vertex graph should be handled")
-    public void testSingleVertexGraph() {
-        List<String> nodes = Arrays.asList("A");
-        List<Edge> edges = new ArrayList<>();
-        Graph singleVertex = new Graph(5, nodes, edges);
-        
-        MSTResult primResult = PrimAlgorithm.findMST(singleVertex);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(singleVertex);
-        
-        assertEquals(0, primResult.getTotalCost());
-        assertEquals(0, kruskalResult.getTotalCost());
-        assertEquals(0, primResult.getMstEdges().size());
-        assertEquals(0, kruskalResult.getMstEdges().size());
-    }
-    
-    @Test
-    @DisplayName("Test known MST cost for simple graph")
-    public void testKnownMSTCost() {
-        // For the simple graph, expected MST cost is 16
-        // Edges: B-C(2), A-C(3), B-D(5), D-E(6)
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertEquals(16, primResult.getTotalCost(),
-            "Prim should produce correct MST cost for simple graph");
-        assertEquals(16, kruskalResult.getTotalCost(),
-            "Kruskal should produce correct MST cost for simple graph");
-    }
-    
-    @Test
-    @DisplayName("Test known MST cost for medium graph")
-    public void testKnownMSTCostMedium() {
-        // For the medium graph, expected MST cost is 6
-        // Edges: A-B(1), B-C(2), C-D(3)
-        MSTResult primResult = PrimAlgorithm.findMST(mediumGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(mediumGraph);
-        
-        assertEquals(6, primResult.getTotalCost(),
-            "Prim should produce correct MST cost for medium graph");
-        assertEquals(6, kruskalResult.getTotalCost(),
-            "Kruskal should produce correct MST cost for medium graph");
-    }
-    
-    // ========== PERFORMANCE TESTS ==========
-    
-    @Test
-    @DisplayName("Execution time should be non-negative")
-    public void testExecutionTimeIsNonNegative() {
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertTrue(primResult.getExecutionTimeMs() >= 0,
-            "Prim execution time should be non-negative");
-        assertTrue(kruskalResult.getExecutionTimeMs() >= 0,
-            "Kruskal execution time should be non-negative");
-    }
-    
-    @Test
-    @DisplayName("Operation count should be non-negative")
-    public void testOperationCountIsNonNegative() {
-        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertTrue(primResult.getOperationsCount() >= 0,
-            "Prim operations count should be non-negative");
-        assertTrue(kruskalResult.getOperationsCount() >= 0,
-            "Kruskal operations count should be non-negative");
-    }
-    
-    @Test
-    @DisplayName("Results should be reproducible")
-    public void testResultsAreReproducible() {
-        // Run Prim twice
-        MSTResult prim1 = PrimAlgorithm.findMST(simpleGraph);
-        MSTResult prim2 = PrimAlgorithm.findMST(simpleGraph);
-        
-        assertEquals(prim1.getTotalCost(), prim2.getTotalCost(),
-            "Prim should produce same cost on repeated runs");
-        assertEquals(prim1.getMstEdges().size(), prim2.getMstEdges().size(),
-            "Prim should produce same number of edges on repeated runs");
-        
-        // Run Kruskal twice
-        MSTResult kruskal1 = KruskalAlgorithm.findMST(simpleGraph);
-        MSTResult kruskal2 = KruskalAlgorithm.findMST(simpleGraph);
-        
-        assertEquals(kruskal1.getTotalCost(), kruskal2.getTotalCost(),
-            "Kruskal should produce same cost on repeated runs");
-        assertEquals(kruskal1.getMstEdges().size(), kruskal2.getMstEdges().size(),
-            "Kruskal should produce same number of edges on repeated runs");
-    }
-    
-    @Test
-    @DisplayName("Performance test on larger graph")
-    public void testPerformanceOnLargerGraph() {
-        // Generate a larger graph for performance testing
-        Graph largeGraph = GraphGenerator.generateGraph(100, 100, 0.3);
-        
-        long primStart = System.nanoTime();
-        MSTResult primResult = PrimAlgorithm.findMST(largeGraph);
-        long primTime = System.nanoTime() - primStart;
-        
-        long kruskalStart = System.nanoTime();
-        MSTResult kruskalResult = KruskalAlgorithm.findMST(largeGraph);
-        long kruskalTime = System.nanoTime() - kruskalStart;
-        
-        // Both should complete in reasonable time (less than 1 second)
-        assertTrue(primTime < 1_000_000_000L,
-            "Prim should complete in less than 1 second for 100-node graph");
-        assertTrue(kruskalTime < 1_000_000_000L,
-            "Kruskal should complete in less than 1 second for 100-node graph");
-        
-        // Both should produce same cost
-        assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost(),
-            "Both algorithms should produce same cost for large graph");
-    }
-    
-    // ========== HELPER METHODS ==========
-    
-    /**
-     * Checks if the given edges form an acyclic graph using Union-Find.
-     */
-    private boolean isAcyclic(List<Edge> edges, List<String> nodes) {
-        UnionFind uf = new UnionFind();
-        
-        for (String node : nodes) {
-            uf.makeSet(node);
-        }
-        
-        for (Edge edge : edges) {
-            String root1 = uf.find(edge.getFrom());
-            String root2 = uf.find(edge.getTo());
-            
-            if (root1.equals(root2)) {
-                return false; // Cycle detected
-            }
-            
-            uf.union(edge.getFrom(), edge.getTo());
-        }
-        
-        return true;
-    }
-    
-    /**
-     * Checks if the given edges connect all vertices using BFS.
-     */
-    private boolean isConnected(List<Edge> edges, List<String> nodes) {
-        if (nodes.isEmpty()) return true;
-        
-        // Build adjacency list from edges
-        Map<String, List<String>> adj = new HashMap<>();
-        for (String node : nodes) {
-            adj.put(node, new ArrayList<>());
-        }
-        
-        for (Edge edge : edges) {
-            adj.get(edge.getFrom()).add(edge.getTo());
-            adj.get(edge.getTo()).add(edge.getFrom());
-        }
-        
-        // BFS from first node
-        Set<String> visited = new HashSet<>();
-        Queue<String> queue = new LinkedList<>();
-        
-        queue.offer(nodes.get(0));
-        visited.add(nodes.get(0));
-        
-        while (!queue.isEmpty()) {
-            String current = queue.poll();
-            for (String neighbor : adj.get(current)) {
-                if (!visited.contains(neighbor)) {
-                    visited.add(neighbor);
-                    queue.offer(neighbor);
-                }
-            }
-        }
-        
-        return visited.size() == nodes.size();
-    }
-}
-
+package com.socialnetwork;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Comprehensive JUnit tests for MST algorithms.
+ * Tests both correctness and performance aspects of Prim's and Kruskal's algorithms.
+ */
+public class MSTAlgorithmsTest {
+    
+    private Graph simpleGraph;
+    private Graph mediumGraph;
+    
+    @BeforeEach
+    public void setUp() {
+        // Create a simple test graph
+        List<String> nodes = Arrays.asList("A", "B", "C", "D", "E");
+        List<Edge> edges = Arrays.asList(
+            new Edge("A", "B", 4),
+            new Edge("A", "C", 3),
+            new Edge("B", "C", 2),
+            new Edge("B", "D", 5),
+            new Edge("C", "D", 7),
+            new Edge("C", "E", 8),
+            new Edge("D", "E", 6)
+        );
+        simpleGraph = new Graph(1, nodes, edges);
+        
+        // Create a medium test graph
+        List<String> nodes2 = Arrays.asList("A", "B", "C", "D");
+        List<Edge> edges2 = Arrays.asList(
+            new Edge("A", "B", 1),
+            new Edge("A", "C", 4),
+            new Edge("B", "C", 2),
+            new Edge("C", "D", 3),
+            new Edge("B", "D", 5)
+        );
+        mediumGraph = new Graph(2, nodes2, edges2);
+    }
+    
+    // ========== CORRECTNESS TESTS ==========
+    
+    @Test
+    @DisplayName("Both algorithms should produce same MST cost")
+    public void testBothAlgorithmsProduceSameCost() {
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost(),
+            "Prim and Kruskal should produce MSTs with same total cost");
+    }
+    
+    @Test
+    @DisplayName("MST should have V-1 edges for connected graph")
+    public void testMSTEdgeCount() {
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        int expectedEdges = simpleGraph.getVertexCount() - 1;
+        
+        assertEquals(expectedEdges, primResult.getMstEdges().size(),
+            "Prim's MST should have V-1 edges");
+        assertEquals(expectedEdges, kruskalResult.getMstEdges().size(),
+            "Kruskal's MST should have V-1 edges");
+    }
+    
+    @Test
+    @DisplayName("MST should be acyclic")
+    public void testMSTIsAcyclic() {
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertTrue(isAcyclic(primResult.getMstEdges(), simpleGraph.getNodes()),
+            "Prim's MST should be acyclic");
+        assertTrue(isAcyclic(kruskalResult.getMstEdges(), simpleGraph.getNodes()),
+            "Kruskal's MST should be acyclic");
+    }
+    
+    @Test
+    @DisplayName("MST should connect all vertices")
+    public void testMSTConnectsAllVertices() {
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertTrue(isConnected(primResult.getMstEdges(), simpleGraph.getNodes()),
+            "Prim's MST should connect all vertices");
+        assertTrue(isConnected(kruskalResult.getMstEdges(), simpleGraph.getNodes()),
+            "Kruskal's MST should connect all vertices");
+    }
+    
+    @Test
+    @DisplayName("Disconnected graph should be handled gracefully")
+    public void testDisconnectedGraph() {
+        // Create a disconnected graph
+        List<String> nodes = Arrays.asList("A", "B", "C", "D");
+        List<Edge> edges = Arrays.asList(
+            new Edge("A", "B", 1),
+            new Edge("C", "D", 2)
+        );
+        Graph disconnectedGraph = new Graph(3, nodes, edges);
+        
+        assertFalse(disconnectedGraph.isConnected(),
+            "Graph should be detected as disconnected");
+        
+        MSTResult primResult = PrimAlgorithm.findMST(disconnectedGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(disconnectedGraph);
+        
+        // For disconnected graph, MST should not have V-1 edges
+        assertTrue(primResult.getMstEdges().size() < nodes.size() - 1,
+            "Prim should not produce full MST for disconnected graph");
+        assertTrue(kruskalResult.getMstEdges().size() < nodes.size() - 1,
+            "Kruskal should not produce full MST for disconnected graph");
+    }
+    
+    @Test
+    @DisplayName("Empty graph should be handled")
+    public void testEmptyGraph() {
+        Graph emptyGraph = new Graph(4, new ArrayList<>(), new ArrayList<>());
+        
+        MSTResult primResult = PrimAlgorithm.findMST(emptyGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(emptyGraph);
+        
+        assertEquals(0, primResult.getTotalCost());
+        assertEquals(0, kruskalResult.getTotalCost());
+        assertEquals(0, primResult.getMstEdges().size());
+        assertEquals(0, kruskalResult.getMstEdges().size());
+    }
+    
+    @Test
+    @DisplayName("Single vertex graph should be handled")
+    public void testSingleVertexGraph() {
+        List<String> nodes = Arrays.asList("A");
+        List<Edge> edges = new ArrayList<>();
+        Graph singleVertex = new Graph(5, nodes, edges);
+        
+        MSTResult primResult = PrimAlgorithm.findMST(singleVertex);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(singleVertex);
+        
+        assertEquals(0, primResult.getTotalCost());
+        assertEquals(0, kruskalResult.getTotalCost());
+        assertEquals(0, primResult.getMstEdges().size());
+        assertEquals(0, kruskalResult.getMstEdges().size());
+    }
+    
+    @Test
+    @DisplayName("Test known MST cost for simple graph")
+    public void testKnownMSTCost() {
+        // For the simple graph, expected MST cost is 16
+        // Edges: B-C(2), A-C(3), B-D(5), D-E(6)
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertEquals(16, primResult.getTotalCost(),
+            "Prim should produce correct MST cost for simple graph");
+        assertEquals(16, kruskalResult.getTotalCost(),
+            "Kruskal should produce correct MST cost for simple graph");
+    }
+    
+    @Test
+    @DisplayName("Test known MST cost for medium graph")
+    public void testKnownMSTCostMedium() {
+        // For the medium graph, expected MST cost is 6
+        // Edges: A-B(1), B-C(2), C-D(3)
+        MSTResult primResult = PrimAlgorithm.findMST(mediumGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(mediumGraph);
+        
+        assertEquals(6, primResult.getTotalCost(),
+            "Prim should produce correct MST cost for medium graph");
+        assertEquals(6, kruskalResult.getTotalCost(),
+            "Kruskal should produce correct MST cost for medium graph");
+    }
+    
+    // ========== PERFORMANCE TESTS ==========
+    
+    @Test
+    @DisplayName("Execution time should be non-negative")
+    public void testExecutionTimeIsNonNegative() {
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertTrue(primResult.getExecutionTimeMs() >= 0,
+            "Prim execution time should be non-negative");
+        assertTrue(kruskalResult.getExecutionTimeMs() >= 0,
+            "Kruskal execution time should be non-negative");
+    }
+    
+    @Test
+    @DisplayName("Operation count should be non-negative")
+    public void testOperationCountIsNonNegative() {
+        MSTResult primResult = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertTrue(primResult.getOperationsCount() >= 0,
+            "Prim operations count should be non-negative");
+        assertTrue(kruskalResult.getOperationsCount() >= 0,
+            "Kruskal operations count should be non-negative");
+    }
+    
+    @Test
+    @DisplayName("Results should be reproducible")
+    public void testResultsAreReproducible() {
+        // Run Prim twice
+        MSTResult prim1 = PrimAlgorithm.findMST(simpleGraph);
+        MSTResult prim2 = PrimAlgorithm.findMST(simpleGraph);
+        
+        assertEquals(prim1.getTotalCost(), prim2.getTotalCost(),
+            "Prim should produce same cost on repeated runs");
+        assertEquals(prim1.getMstEdges().size(), prim2.getMstEdges().size(),
+            "Prim should produce same number of edges on repeated runs");
+        
+        // Run Kruskal twice
+        MSTResult kruskal1 = KruskalAlgorithm.findMST(simpleGraph);
+        MSTResult kruskal2 = KruskalAlgorithm.findMST(simpleGraph);
+        
+        assertEquals(kruskal1.getTotalCost(), kruskal2.getTotalCost(),
+            "Kruskal should produce same cost on repeated runs");
+        assertEquals(kruskal1.getMstEdges().size(), kruskal2.getMstEdges().size(),
+            "Kruskal should produce same number of edges on repeated runs");
+    }
+    
+    @Test
+    @DisplayName("Performance test on larger graph")
+    public void testPerformanceOnLargerGraph() {
+        // Generate a larger graph for performance testing
+        Graph largeGraph = GraphGenerator.generateGraph(100, 100, 0.3);
+        
+        long primStart = System.nanoTime();
+        MSTResult primResult = PrimAlgorithm.findMST(largeGraph);
+        long primTime = System.nanoTime() - primStart;
+        
+        long kruskalStart = System.nanoTime();
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(largeGraph);
+        long kruskalTime = System.nanoTime() - kruskalStart;
+        
+        // Both should complete in reasonable time (less than 1 second)
+        assertTrue(primTime < 1_000_000_000L,
+            "Prim should complete in less than 1 second for 100-node graph");
+        assertTrue(kruskalTime < 1_000_000_000L,
+            "Kruskal should complete in less than 1 second for 100-node graph");
+        
+        // Both should produce same cost
+        assertEquals(primResult.getTotalCost(), kruskalResult.getTotalCost(),
+            "Both algorithms should produce same cost for large graph");
+    }
+    
+    @Test
+    @DisplayName("Operation counters should report a per-category breakdown or nothing at all")
+    public void testOperationCounters() {
+        Graph graph = GraphGenerator.generateGraph(110, 300, 0.2);
+        for (MSTEngine engine : MSTEngine.values()) {
+            MSTResult counted = engine.findMST(graph);
+            MSTResult uncounted = engine.findMST(graph, OperationCounter.NONE);
+            
+            long sum = 0;
+            for (long count : counted.getOperationBreakdown().values()) {
+                sum += count;
+            }
+            assertEquals(counted.getTotalOperations(), sum, engine + " breakdown adds up to the total");
+            assertEquals(counted.getTotalCost(), uncounted.getTotalCost());
+            assertEquals(0, uncounted.getTotalOperations());
+        }
+        
+        Map<OperationCounter.Category, Long> prim = MSTEngine.PRIM_BINARY_HEAP.findMST(graph).getOperationBreakdown();
+        assertTrue(prim.get(OperationCounter.Category.HEAP) > 0);
+        assertTrue(prim.get(OperationCounter.Category.EDGE_SCAN) > 0);
+        Map<OperationCounter.Category, Long> kruskal = MSTEngine.KRUSKAL.findMST(graph).getOperationBreakdown();
+        assertTrue(kruskal.get(OperationCounter.Category.FIND) > 0);
+        assertTrue(kruskal.get(OperationCounter.Category.SORT) > 0);
+        
+        // Totals are 64-bit; the legacy int accessor saturates
+        MSTResult huge = new MSTResult(new ArrayList<>(), 0, 5_000_000_000L, 0.0);
+        assertEquals(Integer.MAX_VALUE, huge.getOperationsCount());
+        assertEquals(5_000_000_000L, huge.getTotalOperations());
+        OperationCounter shared = OperationCounter.counting();
+        shared.add(OperationCounter.Category.OTHER, 5_000_000_000L);
+        IndexedMinHeap heap = new DaryIndexedHeap(2, 4, shared);
+        heap.insert(0, 1);
+        DisjointSet sets = new IntUnionFind(4, shared);
+        assertEquals(Integer.MAX_VALUE, heap.getOperationsCount());
+        assertEquals(5_000_000_001L, heap.getTotalOperations());
+        assertEquals(5_000_000_001L, sets.getTotalOperations());
+    }
+    
+    @Test
+    @DisplayName("Batch runner should keep input order across concurrent jobs")
+    public void testBatchRunnerOrdering() throws InterruptedException {
+        List<Graph> graphs = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            // Decreasing sizes so later graphs tend to finish first
+            graphs.add(GraphGenerator.generateGraph(200 + i, 200 - 15 * i, 0.2));
+        }
+        
+        List<JSONHandler.GraphResult> results = BatchRunner.run(graphs, 4);
+        
+        assertEquals(graphs.size(), results.size());
+        for (int i = 0; i < graphs.size(); i++) {
+            JSONHandler.GraphResult result = results.get(i);
+            assertEquals(graphs.get(i).getId(), result.graphId, "Results must follow input order");
+            assertEquals(result.primResult.getTotalCost(), result.kruskalResult.getTotalCost());
+            assertTrue(result.primResult.getExecutionTimeMs() >= 0);
+        }
+    }
+    
+    // ========== COMPACT GRAPH TESTS ==========
+    
+    @Test
+    @DisplayName("Compact graph should intern node names to dense ids")
+    public void testCompactGraphInterning() {
+        CompactGraph compact = simpleGraph.getCompactGraph();
+        
+        assertEquals(simpleGraph.getVertexCount(), compact.getVertexCount());
+        assertEquals(simpleGraph.getEdgeCount(), compact.getEdgeCount());
+        for (String node : simpleGraph.getNodes()) {
+            assertEquals(node, compact.getName(compact.indexOf(node)));
+        }
+        assertEquals(-1, compact.indexOf("Z"));
+        
+        // Every undirected edge appears once in each endpoint's row
+        int slots = 0;
+        for (int v = 0; v < compact.getVertexCount(); v++) {
+            slots += compact.adjacencyEnd(v) - compact.adjacencyStart(v);
+        }
+        assertEquals(2 * compact.getEdgeCount(), slots);
+    }
+    
+    @Test
+    @DisplayName("Compact fast paths should match the name-based algorithms")
+    public void testCompactFastPaths() {
+        Graph graph = GraphGenerator.generateGraph(101, 80, 0.2);
+        CompactGraph compact = graph.getCompactGraph();
+        
+        MSTResult primResult = PrimAlgorithm.findMST(compact);
+        MSTResult kruskalResult = KruskalAlgorithm.findMST(compact);
+        int expectedCost = KruskalAlgorithm.findMST(graph).getTotalCost();
+        
+        assertEquals(expectedCost, primResult.getTotalCost());
+        assertEquals(expectedCost, kruskalResult.getTotalCost());
+        assertTrue(isAcyclic(primResult.getMstEdges(), graph.getNodes()));
+        assertTrue(isConnected(kruskalResult.getMstEdges(), graph.getNodes()),
+            "Compact results should map back to the original node names");
+    }
+    
+    @Test
+    @DisplayName("All Prim engines should produce the same MST cost")
+    public void testPrimEngines() {
+        Graph graph = GraphGenerator.generateGraph(102, 120, 0.15);
+        int expectedCost = KruskalAlgorithm.findMST(graph).getTotalCost();
+        
+        for (PrimEngine engine : PrimEngine.values()) {
+            MSTResult result = PrimAlgorithm.findMST(graph, engine);
+            assertEquals(expectedCost, result.getTotalCost(), engine + " should produce minimum cost");
+            assertEquals(graph.getVertexCount() - 1, result.getMstEdges().size(), engine + " edge count");
+            assertTrue(isAcyclic(result.getMstEdges(), graph.getNodes()), engine + " should be acyclic");
+        }
+        
+        for (PrimEngine engine : PrimEngine.values()) {
+            assertEquals(16, PrimAlgorithm.findMST(simpleGraph, engine).getTotalCost(), engine + " on simple graph");
+        }
+        
+        // Edges of the largest weight still connect vertices that were not reached before
+        Graph heaviest = new Graph(105, Arrays.asList("A", "B", "C"),
+            Arrays.asList(new Edge("A", "B", Integer.MAX_VALUE), new Edge("A", "C", 0)));
+        for (PrimEngine engine : PrimEngine.values()) {
+            MSTResult result = PrimAlgorithm.findMST(heaviest, engine);
+            assertTrue(result.isSpanningTree(), engine + " should span the graph");
+            assertEquals(Integer.MAX_VALUE, result.getTotalCost(), engine + " cost");
+        }
+        
+        // Heap operations are counted by the heap only, never a second time by the loop
+        OperationCounter counter = OperationCounter.counting();
+        CompactGraph compact = graph.getCompactGraph();
+        PrimAlgorithm.findMSTEager(compact, new DaryIndexedHeap(2, compact.getVertexCount(), OperationCounter.NONE),
+            counter);
+        assertEquals(0, counter.get(OperationCounter.Category.HEAP));
+    }
+    
+    @Test
+    @DisplayName("Dense Prim should handle complete graphs")
+    public void testDensePrimOnCompleteGraph() {
+        Graph complete = GraphGenerator.generateGraph(103, 60, 1.0);
+        assertEquals(60 * 59 / 2, complete.getEdgeCount());
+        assertEquals(PrimEngine.DENSE, PrimEngine.forGraph(complete.getVertexCount(), complete.getEdgeCount()));
+        
+        MSTResult denseResult = PrimAlgorithm.findMSTDense(complete.getCompactGraph());
+        assertEquals(KruskalAlgorithm.findMST(complete).getTotalCost(), denseResult.getTotalCost());
+        assertTrue(isConnected(denseResult.getMstEdges(), complete.getNodes()));
+        
+        Graph disconnected = new Graph(104, Arrays.asList("A", "B", "C"),
+            Arrays.asList(new Edge("A", "B", 1)));
+        MSTResult forest = PrimAlgorithm.findMSTDense(disconnected.getCompactGraph());
+        assertEquals(1, forest.getMstEdges().size());
+        assertArrayEquals(new int[] {1, 0}, forest.getComponentCosts());
+        
+        // A maximum-weight edge still attaches C before a new tree is started at D
+        Graph heavyForest = new Graph(106, Arrays.asList("A", "B", "C", "D"),
+            Arrays.asList(new Edge("A", "B", 0), new Edge("B", "C", Integer.MAX_VALUE)));
+        MSTResult heavy = PrimAlgorithm.findMSTDense(heavyForest.getCompactGraph());
+        assertEquals(2, heavy.getMstEdges().size());
+        assertArrayEquals(new int[] {Integer.MAX_VALUE, 0}, heavy.getComponentCosts());
+    }
+    
+    @Test
+    @DisplayName("Workspace runs should match regular runs and reuse their buffers")
+    public void testMSTWorkspace() {
+        MSTWorkspace workspace = new MSTWorkspace(300, 20_000, OperationCounter.counting());
+        List<Graph> graphs = Arrays.asList(
+            GraphGenerator.generateGraph(110, 250, 0.2),
+            simpleGraph,
+            new Graph(111, Arrays.asList("A", "B", "C"), Arrays.asList(new Edge("A", "B", 1))),
+            GraphGenerator.generateGraph(112, 120, 0.6),
+            new Graph(113, new ArrayList<>(), new ArrayList<>()));
+        for (Graph graph : graphs) {
+            CompactGraph compact = graph.getCompactGraph();
+            for (PrimEngine engine : PrimEngine.values()) {
+                MSTResult expected = PrimAlgorithm.findMST(graph, engine);
+                MSTResult reused = PrimAlgorithm.findMST(compact, engine, workspace);
+                assertEquals(expected.getMstEdges(), reused.getMstEdges(), engine + " on " + graph);
+                assertArrayEquals(expected.getComponentCosts(), reused.getComponentCosts());
+                assertEquals(expected.getTotalOperations(), reused.getTotalOperations(), "Counter is reset per run");
+            }
+            MSTResult expected = KruskalAlgorithm.findMST(compact);
+            MSTResult reused = MSTEngine.KRUSKAL.findMST(graph, workspace);
+            assertEquals(expected.getMstEdges(), reused.getMstEdges());
+            assertEquals(expected.getTotalOperations(), reused.getTotalOperations());
+            assertEquals(MSTEngine.BORUVKA.findMST(graph).getTotalCost(),
+                MSTEngine.BORUVKA.findMST(graph, workspace).getTotalCost());
+        }
+        
+        // Buffers are kept within the limits and handed out again instead of reallocated
+        assertSame(workspace.heap(2, 250), workspace.heap(2, 10));
+        assertSame(workspace.unionFind(250), workspace.unionFind(3));
+        assertSame(workspace.keys(250), workspace.keys(100));
+        assertSame(workspace, workspace.forGraph(300, 20_000));
+        assertNotSame(workspace, workspace.forGraph(301, 10));
+        assertSame(MSTWorkspace.current(), MSTWorkspace.current());
+        
+        // Once warmed up, a run allocates only its result: the edge list and its Edge objects
+        Graph steady = graphs.get(0);
+        for (MSTEngine engine : new MSTEngine[] {MSTEngine.PRIM_BINARY_HEAP, MSTEngine.PRIM_QUATERNARY_HEAP,
+                                                 MSTEngine.PRIM_DENSE, MSTEngine.KRUSKAL}) {
+            for (int i = 0; i < 2000; i++) {
+                engine.findMST(steady, workspace);
+            }
+            int runs = 100;
+            long before = MSTTimer.allocatedBytes();
+            for (int i = 0; i < runs; i++) {
+                engine.findMST(steady, workspace);
+            }
+            long after = MSTTimer.allocatedBytes();
+            if (before >= 0 && after >= 0) {
+                long resultBound = 48L * (steady.getVertexCount() - 1) + 1024;
+                assertTrue((after - before) / runs <= resultBound,
+                    engine + " allocated " + (after - before) / runs + " bytes per run");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("All engines should return the same minimum spanning forest for disconnected graphs")
+    public void testSpanningForest() {
+        // Two generated components, an isolated vertex and a pair, interleaved in node order
+        Graph first = GraphGenerator.generateGraph(1, 40, 0.3);
+        Graph second = GraphGenerator.generateGraph(2, 30, 0.5);
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            nodes.add("a" + first.getNodes().get(i));
+            if (i < 30) {
+                nodes.add("b" + second.getNodes().get(i));
+            }
+        }
+        nodes.add("lonely");
+        nodes.add("x");
+        nodes.add("y");
+        for (Edge edge : first.getEdges()) {
+            edges.add(new Edge("a" + edge.getFrom(), "a" + edge.getTo(), edge.getWeight()));
+        }
+        for (Edge edge : second.getEdges()) {
+            edges.add(new Edge("b" + edge.getFrom(), "b" + edge.getTo(), edge.getWeight()));
+        }
+        edges.add(new Edge("x", "y", 7));
+        Graph graph = new Graph(105, nodes, edges);
+        
+        int firstCost = KruskalAlgorithm.findMST(first).getTotalCost();
+        int secondCost = KruskalAlgorithm.findMST(second).getTotalCost();
+        int[] expected = {firstCost, secondCost, 0, 7};
+        for (MSTEngine engine : MSTEngine.values()) {
+            MSTResult result = engine.findMST(graph);
+            assertEquals(4, result.getComponentCount(), engine + " component count");
+            assertArrayEquals(expected, result.getComponentCosts(), engine + " component costs");
+            assertEquals(firstCost + secondCost + 7, result.getTotalCost(), engine + " total cost");
+            assertEquals(nodes.size() - 4, result.getMstEdges().size(), engine + " forest size");
+            assertFalse(result.isSpanningTree());
+        }
+        
+        MSTResult connected = MSTEngine.PRIM.findMST(first);
+        assertTrue(connected.isSpanningTree());
+        assertArrayEquals(new int[] {firstCost}, connected.getComponentCosts());
+        assertEquals(0, PrimAlgorithm.findMST(new Graph(106, new ArrayList<>(), new ArrayList<>())).getComponentCount());
+    }
+    
+    @Test
+    @DisplayName("Indexed heaps should extract items in key order after decrease-key")
+    public void testIndexedHeaps() {
+        IndexedMinHeap[] heaps = {
+            new DaryIndexedHeap(2, 50), new DaryIndexedHeap(4, 50), new PairingIndexedHeap(50)
+        };
+        for (IndexedMinHeap heap : heaps) {
+            for (int i = 0; i < 50; i++) {
+                heap.insert(i, 1000 + (i * 37) % 50);
+            }
+            for (int i = 0; i < 50; i += 3) {
+                heap.decreaseKey(i, heap.keyOf(i) - 500);
+            }
+            
+            int previous = Integer.MIN_VALUE;
+            int extracted = 0;
+            while (!heap.isEmpty()) {
+                int item = heap.extractMin();
+                assertFalse(heap.contains(item));
+                assertTrue(heap.keyOf(item) >= previous, "Keys must come out in order");
+                previous = heap.keyOf(item);
+                extracted++;
+            }
+            assertEquals(50, extracted);
+        }
+    }
+    
+    @Test
+    @DisplayName("Filter-Kruskal should match Kruskal on dense and sparse graphs")
+    public void testFilterKruskal() {
+        for (double density : new double[] {0.05, 0.5, 1.0}) {
+            Graph graph = GraphGenerator.generateGraph(105, 150, density);
+            MSTResult expected = KruskalAlgorithm.findMST(graph);
+            MSTResult filtered = KruskalAlgorithm.findMSTFiltered(graph);
+            
+            assertEquals(expected.getTotalCost(), filtered.getTotalCost(), "Cost at density " + density);
+            assertEquals(graph.getVertexCount() - 1, filtered.getMstEdges().size());
+            assertTrue(isAcyclic(filtered.getMstEdges(), graph.getNodes()));
+        }
+        assertEquals(16, KruskalAlgorithm.findMSTFiltered(simpleGraph).getTotalCost());
+        
+        // A light path inside a complete graph of equal heavy weights: the median pivot equals the
+        // maximum weight, and the heavy block must still be filtered instead of sorted
+        int n = 200;
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            nodes.add("N" + i);
+            for (int j = 0; j < i; j++) {
+                edges.add(new Edge("N" + j, "N" + i, j == i - 1 ? 1 : 2));
+            }
+        }
+        Collections.shuffle(edges, new Random(7));
+        Graph duplicates = new Graph(107, nodes, edges);
+        MSTResult plain = KruskalAlgorithm.findMST(duplicates);
+        MSTResult filtered = KruskalAlgorithm.findMSTFiltered(duplicates);
+        assertEquals(n - 1, filtered.getTotalCost());
+        long plainSorts = plain.getOperationBreakdown().get(OperationCounter.Category.SORT);
+        long filteredSorts = filtered.getOperationBreakdown().get(OperationCounter.Category.SORT);
+        assertTrue(filteredSorts < plainSorts / 2, filteredSorts + " sort operations vs " + plainSorts);
+    }
+    
+    @Test
+    @DisplayName("Parallel Boruvka should match Kruskal's cost")
+    public void testBoruvka() {
+        Graph graph = GraphGenerator.generateGraph(106, 3000, 0.01);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MSTResult result = BoruvkaAlgorithm.findMST(graph.getCompactGraph(), pool);
+            
+            assertEquals(KruskalAlgorithm.findMST(graph).getTotalCost(), result.getTotalCost());
+            assertEquals(graph.getVertexCount() - 1, result.getMstEdges().size());
+            assertTrue(isAcyclic(result.getMstEdges(), graph.getNodes()));
+        } finally {
+            pool.shutdown();
+        }
+        
+        assertEquals(16, BoruvkaAlgorithm.findMST(simpleGraph).getTotalCost());
+        assertEquals(6, BoruvkaAlgorithm.findMST(mediumGraph).getTotalCost());
+        
+        // A path with increasing weights (ties broken by edge id) hooks every vertex onto its
+        // left neighbour in one round; contraction must collapse that chain without walking it
+        // once per vertex
+        int n = 100_000;
+        String[] names = new String[n];
+        int[] from = new int[n - 1];
+        int[] to = new int[n - 1];
+        int[] weight = new int[n - 1];
+        int pathCost = 0;
+        for (int v = 0; v < n; v++) {
+            names[v] = "v" + v;
+        }
+        for (int e = 0; e < n - 1; e++) {
+            from[e] = e;
+            to[e] = e + 1;
+            weight[e] = e / 100;
+            pathCost += weight[e];
+        }
+        CompactGraph path = new CompactGraph(107, names, from, to, weight);
+        MSTResult chain = assertTimeout(java.time.Duration.ofSeconds(5),
+            () -> BoruvkaAlgorithm.findMST(path, ForkJoinPool.commonPool()));
+        assertEquals(n - 1, chain.getMstEdges().size());
+        assertEquals(pathCost, chain.getTotalCost());
+        assertEquals(1, chain.getComponentCount());
+    }
+    
+    @Test
+    @DisplayName("Every MST engine should produce the same cost")
+    public void testAllEngines() {
+        for (MSTEngine engine : MSTEngine.values()) {
+            assertEquals(16, engine.findMST(simpleGraph).getTotalCost(), engine + " on simple graph");
+            assertEquals(6, engine.findMST(mediumGraph).getTotalCost(), engine + " on medium graph");
+        }
+    }
+    
+    @Test
+    @DisplayName("External-memory Kruskal should merge spilled runs into the same MST cost")
+    public void testExternalKruskal() throws IOException {
+        Graph graph = GraphGenerator.generateGraph(109, 200, 0.1);
+        Path tempDir = Files.createTempDirectory("kruskal-runs");
+        Path graphFile = tempDir.resolve("graph.bin");
+        try {
+            int expectedCost = KruskalAlgorithm.findMST(graph).getTotalCost();
+            
+            MSTResult spilled = ExternalKruskal.findMST(graph.getCompactGraph(), tempDir, 97);
+            assertEquals(expectedCost, spilled.getTotalCost());
+            assertEquals(graph.getVertexCount() - 1, spilled.getMstEdges().size());
+            assertTrue(isAcyclic(spilled.getMstEdges(), graph.getNodes()));
+            
+            MSTResult inMemory = ExternalKruskal.findMST(graph.getCompactGraph(), tempDir, 1 << 20);
+            assertEquals(expectedCost, inMemory.getTotalCost());
+            
+            BinaryGraphFormat.writeGraphs(Arrays.asList(graph), graphFile.toString());
+            List<MSTResult> fromFile = ExternalKruskal.findMSTs(graphFile.toString(), tempDir, 500);
+            assertEquals(expectedCost, fromFile.get(0).getTotalCost());
+            
+            Files.delete(graphFile);
+            try (java.util.stream.Stream<Path> leftovers = Files.list(tempDir)) {
+                assertEquals(0, leftovers.count(), "Run files should be deleted");
+            }
+        } finally {
+            Files.deleteIfExists(graphFile);
+            Files.delete(tempDir);
+        }
+    }
+    
+    @Test
+    @DisplayName("Edge sorter should order by weight and break ties by edge id")
+    public void testEdgeSorter() {
+        Random rnd = new Random(7);
+        int[] bounded = new int[5000];
+        int[] wide = new int[5000];
+        for (int i = 0; i < bounded.length; i++) {
+            bounded[i] = rnd.nextInt(100) + 1;
+            wide[i] = rnd.nextInt() / 2;
+        }
+        
+        for (int[] weights : new int[][] {bounded, wide}) {
+            int[] order = EdgeSorter.sortedOrder(weights);
+            assertEquals(weights.length, order.length);
+            for (int i = 1; i < order.length; i++) {
+                int prev = order[i - 1];
+                int cur = order[i];
+                assertTrue(weights[prev] < weights[cur] || (weights[prev] == weights[cur] && prev < cur),
+                    "Edges must be sorted by (weight, id)");
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("Parallel generator should be reproducible and produce simple connected graphs")
+    public void testParallelGraphGenerator() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            for (double density : new double[] {0.0, 0.02, 0.6, 1.0}) {
+                CompactGraph graph = ParallelGraphGenerator.generateGraph(1, 1500, density, 42);
+                CompactGraph again = ParallelGraphGenerator.generateGraph(1, 1500, density, 42, pool);
+                
+                long maxEdges = 1500L * 1499 / 2;
+                assertEquals(Math.max(1499, (long) (maxEdges * density)), graph.getEdgeCount());
+                Set<Long> pairs = new HashSet<>();
+                for (int e = 0; e < graph.getEdgeCount(); e++) {
+                    int u = Math.min(graph.getEdgeFrom(e), graph.getEdgeTo(e));
+                    int v = Math.max(graph.getEdgeFrom(e), graph.getEdgeTo(e));
+                    assertTrue(u != v && pairs.add(((long) u << 32) | v), "No loops or duplicate edges");
+                    assertEquals(graph.getEdgeFrom(e), again.getEdgeFrom(e));
+                    assertEquals(graph.getEdgeTo(e), again.getEdgeTo(e));
+                    assertEquals(graph.getEdgeWeight(e), again.getEdgeWeight(e));
+                }
+                assertEquals(1499, PrimAlgorithm.findMST(graph).getMstEdges().size(), "Graph is connected");
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("Off-heap edge store should give the same MST as the in-memory graph")
+    public void testOffHeapEdgeStore() throws IOException {
+        CompactGraph graph = GraphGenerator.generateGraph(107, 200, 0.3).getCompactGraph();
+        OffHeapEdgeStore store = OffHeapEdgeStore.fromGraph(graph);
+        assertEquals(graph.getEdgeCount(), store.getEdgeCount());
+        int expected = KruskalAlgorithm.findMST(graph).getTotalCost();
+        assertEquals(expected, KruskalAlgorithm.findMST(store).getTotalCost());
+        assertEquals(expected, PrimAlgorithm.findMST(store).getTotalCost());
+        assertEquals(199, PrimAlgorithm.findMST(store).getMstEdges().size());
+        
+        // Wide and negative weights take the two-digit sort; ties keep insertion order
+        OffHeapEdgeStore wide = new OffHeapEdgeStore(108, new String[] {"A", "B", "C", "D"});
+        int[] weights = {1_000_000, -5, Integer.MAX_VALUE, 3, Integer.MIN_VALUE, 3};
+        for (int i = 0; i < weights.length; i++) {
+            wide.add(i % 4, (i + 1) % 4, weights[i]);
+        }
+        OffHeapEdgeStore sorted = wide.sortedByWeight();
+        int[] order = {4, 1, 3, 5, 0, 2};
+        for (int i = 0; i < order.length; i++) {
+            assertEquals(weights[order[i]], sorted.getEdgeWeight(i));
+            assertEquals(order[i] % 4, sorted.getEdgeFrom(i));
+        }
+        assertEquals(Integer.MIN_VALUE - 5 + 3, KruskalAlgorithm.findMST(wide).getTotalCost());
+        assertEquals(Integer.MIN_VALUE - 5 + 3, PrimAlgorithm.findMST(wide).getTotalCost());
+        
+        // Streamed from the generator across more than one segment
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            ParallelGraphGenerator generator = new ParallelGraphGenerator(1500, 0.95, 7, pool);
+            OffHeapEdgeStore large = new OffHeapEdgeStore(109, new String[1500]);
+            generator.writeEdges(large, pool);
+            assertTrue(large.getEdgeCount() > OffHeapEdgeStore.RECORDS_PER_SEGMENT);
+            CompactGraph inMemory = generator.toCompactGraph(109, pool);
+            assertEquals(inMemory.getEdgeCount(), large.getEdgeCount());
+            int largeCost = KruskalAlgorithm.findMST(inMemory).getTotalCost();
+            assertEquals(largeCost, KruskalAlgorithm.findMST(large).getTotalCost());
+            assertEquals(largeCost, PrimAlgorithm.findMST(large).getTotalCost());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    // ========== I/O TESTS ==========
+    
+    @Test
+    @DisplayName("Streaming reader should yield graphs one at a time")
+    public void testStreamingGraphReader() throws IOException {
+        String json = "{\"meta\": {\"note\": [1, 2]}, \"graphs\": ["
+            + "{\"id\": 1, \"nodes\": [\"A\", \"B\", \"C\"], \"edges\": ["
+            + "{\"from\": \"A\", \"to\": \"B\", \"weight\": 2},"
+            + "{\"from\": \"B\", \"to\": \"C\", \"weight\": 3},"
+            + "{\"from\": \"A\", \"to\": \"C\", \"weight\": 9}]},"
+            + "{\"edges\": [{\"weight\": 4, \"to\": \"Y\", \"from\": \"X\"}], \"nodes\": [\"X\", \"Y\"], \"id\": 2}"
+            + "]}";
+        Path file = Files.createTempFile("graphs", ".json");
+        try {
+            Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+            
+            List<Graph> graphs = new ArrayList<>();
+            JSONHandler.forEachGraph(file.toString(), graphs::add);
+            
+            assertEquals(2, graphs.size());
+            assertEquals(1, graphs.get(0).getId());
+            assertEquals(3, graphs.get(0).getEdgeCount());
+            assertEquals(5, KruskalAlgorithm.findMST(graphs.get(0)).getTotalCost());
+            assertEquals(2, graphs.get(1).getId());
+            assertEquals(4, PrimAlgorithm.findMST(graphs.get(1)).getTotalCost());
+            assertEquals(2, JSONHandler.readGraphsFromJSON(file.toString()).size());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    @DisplayName("Compact columnar results should round-trip through a JSON parser")
+    public void testCompactColumnarResultWriter() throws IOException {
+        List<JSONHandler.GraphResult> results = Arrays.asList(new JSONHandler.GraphResult(
+            1, simpleGraph.getVertexCount(), simpleGraph.getEdgeCount(),
+            PrimAlgorithm.findMST(simpleGraph), KruskalAlgorithm.findMST(simpleGraph)));
+        Path file = Files.createTempFile("results", ".json");
+        try {
+            JSONHandler.writeResultsToJSON(results, file.toString(), true, true);
+            String json = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            assertFalse(json.contains("\n"), "Compact output has no line breaks");
+            
+            JsonObject kruskal = JsonParser.parseString(json).getAsJsonObject()
+                .getAsJsonArray("results").get(0).getAsJsonObject().getAsJsonObject("kruskal");
+            JsonObject columns = kruskal.getAsJsonObject("mst_edges");
+            assertEquals(4, columns.getAsJsonArray("from").size());
+            assertEquals(4, columns.getAsJsonArray("weight").size());
+            assertEquals(16, kruskal.get("total_cost").getAsInt());
+            assertEquals(1, kruskal.get("component_count").getAsInt());
+        } finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    @DisplayName("Timed results should carry trial statistics into JSON and CSV output")
+    public void testTimingStats() throws IOException {
+        double[] samples = new double[100];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = samples.length - i;
+        }
+        TimingStats fixed = TimingStats.of(3, samples, 1024, 0, 0);
+        assertEquals(1.0, fixed.getMinMs());
+        assertEquals(50.0, fixed.getMedianMs());
+        assertEquals(95.0, fixed.getP95Ms());
+        assertEquals(99.0, fixed.getP99Ms());
+        assertEquals(50.5, fixed.getMeanMs());
+        assertEquals(100, fixed.getTrials());
+        
+        MSTTimer timer = new MSTTimer(2, 7, false);
+        MSTResult single = MSTEngine.KRUSKAL.findMST(mediumGraph);
+        MSTResult timed = timer.measure(MSTEngine.KRUSKAL, mediumGraph);
+        TimingStats stats = timed.getTimingStats();
+        assertNull(single.getTimingStats());
+        assertEquals(single.getMstEdges(), timed.getMstEdges());
+        assertEquals(single.getTotalOperations(), timed.getTotalOperations(), "Operations come from the counted run");
+        assertEquals(7, stats.getTrials());
+        assertEquals(2, stats.getWarmupRuns());
+        assertTrue(stats.getMinMs() <= stats.getMedianMs() && stats.getMedianMs() <= stats.getP95Ms()
+            && stats.getP95Ms() <= stats.getP99Ms());
+        assertEquals(stats.getMedianMs(), timed.getExecutionTimeMs());
+        assertTrue(stats.getAllocatedBytesPerRun() > 0 || stats.getAllocatedBytesPerRun() == TimingStats.UNKNOWN);
+        assertSame(stats, timed.withExecutionTimeMs(1.0).getTimingStats());
+        assertThrows(IllegalArgumentException.class, () -> new MSTTimer(0, 0, false));
+        
+        // The calling thread's CPU clock misses work on the common pool, so parallel engines are rejected
+        MSTTimer cpuTimer = new MSTTimer(0, 1, true);
+        assertNotNull(cpuTimer.measure(MSTEngine.KRUSKAL_FILTER, mediumGraph).getTimingStats());
+        if (cpuTimer.isThreadCpuTiming()) {
+            assertThrows(IllegalArgumentException.class, () -> cpuTimer.measure(MSTEngine.BORUVKA, mediumGraph));
+            assertThrows(IllegalArgumentException.class, () -> new BatchRunner(ForkJoinPool.commonPool(),
+                MSTEngine.PRIM, MSTEngine.KRUSKAL_FILTER_PARALLEL, true));
+        }
+        assertNotNull(new MSTTimer(0, 1, false).measure(MSTEngine.BORUVKA, mediumGraph).getTimingStats());
+        
+        // Thread CPU time is a JVM-wide switch: when it is off, runners fall back to the wall clock
+        java.lang.management.ThreadMXBean threads = java.lang.management.ManagementFactory.getThreadMXBean();
+        if (threads.isThreadCpuTimeSupported()) {
+            boolean enabled = threads.isThreadCpuTimeEnabled();
+            threads.setThreadCpuTimeEnabled(false);
+            try {
+                assertNotNull(new BatchRunner(ForkJoinPool.commonPool(), MSTEngine.PRIM,
+                    MSTEngine.KRUSKAL_FILTER_PARALLEL, true));
+                MSTTimer wallClock = new MSTTimer(0, 1, true);
+                assertFalse(wallClock.isThreadCpuTiming());
+                assertNotNull(wallClock.measure(MSTEngine.BORUVKA, mediumGraph).getTimingStats());
+                assertFalse(threads.isThreadCpuTimeEnabled());
+            } finally {
+                threads.setThreadCpuTimeEnabled(enabled);
+            }
+        }
+        
+        List<JSONHandler.GraphResult> results = Arrays.asList(new JSONHandler.GraphResult(
+            2, mediumGraph.getVertexCount(), mediumGraph.getEdgeCount(),
+            timer.measure(MSTEngine.PRIM, mediumGraph), single));
+        Path json = Files.createTempFile("results", ".json");
+        Path csv = Files.createTempFile("results", ".csv");
+        try {
+            JSONHandler.writeResultsToJSON(results, json.toString(), true, false);
+            JsonObject result = JsonParser.parseString(new String(Files.readAllBytes(json), StandardCharsets.UTF_8))
+                .getAsJsonObject().getAsJsonArray("results").get(0).getAsJsonObject();
+            JsonObject timing = result.getAsJsonObject("prim").getAsJsonObject("timing");
+            assertEquals(7, timing.get("trials").getAsInt());
+            assertTrue(timing.has("p99_ms") && timing.has("allocated_bytes_per_run") && timing.has("gc_count"));
+            assertFalse(result.getAsJsonObject("kruskal").has("timing"), "Single runs have no statistics");
+        
+            JSONHandler.writeResultsToCSV(results, csv.toString());
+            List<String> lines = Files.readAllLines(csv);
+            String[] header = lines.get(0).split(",", -1);
+            String[] row = lines.get(1).split(",", -1);
+            assertEquals(header.length, row.length);
+            int median = Arrays.asList(header).indexOf("Prim_Median_ms");
+            assertTrue(median > 0, "Median column exists");
+            assertFalse(row[median].isEmpty());
+            assertTrue(row[Arrays.asList(header).indexOf("Kruskal_P99_ms")].isEmpty());
+        } finally {
+            Files.delete(json);
+            Files.delete(csv);
+        }
+    }
+        
+    @Test
+    @DisplayName("Binary graph and result files should round-trip")
+    public void testBinaryFormats() throws IOException {
+        Graph generated = GraphGenerator.generateGraph(108, 50, 0.2);
+        Path graphFile = Files.createTempFile("graphs", ".bin");
+        Path resultFile = Files.createTempFile("results", ".bin");
+        try {
+            BinaryGraphFormat.writeGraphs(Arrays.asList(simpleGraph, generated), graphFile.toString());
+            List<CompactGraph> loaded = BinaryGraphFormat.readGraphs(graphFile.toString());
+            
+            assertEquals(2, loaded.size());
+            assertEquals(generated.getId(), loaded.get(1).getId());
+            assertEquals(generated.getEdgeCount(), loaded.get(1).getEdgeCount());
+            assertEquals("A", loaded.get(0).getName(0));
+            assertEquals(16, KruskalAlgorithm.findMST(loaded.get(0)).getTotalCost());
+            assertEquals(KruskalAlgorithm.findMST(generated).getTotalCost(),
+                PrimAlgorithm.findMST(loaded.get(1)).getTotalCost());
+            
+            MSTResult prim = PrimAlgorithm.findMST(simpleGraph);
+            MSTResult kruskal = KruskalAlgorithm.findMST(simpleGraph);
+            BinaryResultFormat.writeResults(Arrays.asList(new JSONHandler.GraphResult(
+                1, 5, 7, prim, kruskal)), resultFile.toString());
+            List<JSONHandler.GraphResult> results = BinaryResultFormat.readResults(resultFile.toString());
+            
+            assertEquals(1, results.size());
+            assertEquals(kruskal.getMstEdges(), results.get(0).kruskalResult.getMstEdges());
+            assertEquals(prim.getOperationsCount(), results.get(0).primResult.getOperationsCount());
+            assertEquals(prim.getExecutionTimeMs(), results.get(0).primResult.getExecutionTimeMs(), 0.0);
+        } finally {
+            Files.delete(graphFile);
+            Files.delete(resultFile);
+        }
+    }
+    
+    @Test
+    @DisplayName("Streamed generation should write the same graph as in-memory generation")
+    public void testStreamingGeneration() throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Path jsonFile = Files.createTempFile("generated", ".json");
+        Path binaryFile = Files.createTempFile("generated", ".bin");
+        try {
+            CompactGraph expected = ParallelGraphGenerator.generateGraph(5, 800, 0.1, 3, pool);
+            ParallelGraphGenerator.generateToFile(jsonFile.toString(), 5, 800, 0.1, 3, pool);
+            ParallelGraphGenerator.generateToFile(binaryFile.toString(), 5, 800, 0.1, 3, pool);
+            
+            List<CompactGraph> fromBinary = BinaryGraphFormat.readGraphs(binaryFile.toString());
+            List<Graph> fromJson = JSONHandler.readGraphsFromJSON(jsonFile.toString());
+            assertEquals(1, fromBinary.size());
+            assertEquals(1, fromJson.size());
+            CompactGraph binary = fromBinary.get(0);
+            Graph json = fromJson.get(0);
+            assertEquals(expected.getEdgeCount(), binary.getEdgeCount());
+            assertEquals(expected.getEdgeCount(), json.getEdgeCount());
+            for (int e = 0; e < expected.getEdgeCount(); e++) {
+                assertEquals(expected.getEdgeFrom(e), binary.getEdgeFrom(e));
+                assertEquals(expected.getEdgeTo(e), binary.getEdgeTo(e));
+                assertEquals(expected.getEdgeWeight(e), binary.getEdgeWeight(e));
+                assertEquals(expected.getName(expected.getEdgeTo(e)), json.getEdges().get(e).getTo());
+            }
+            assertEquals(PrimAlgorithm.findMST(expected).getTotalCost(), KruskalAlgorithm.findMST(json).getTotalCost());
+        } finally {
+            pool.shutdown();
+            Files.delete(jsonFile);
+            Files.delete(binaryFile);
+        }
+    }
+    
+    @Test
+    @DisplayName("MST cache should key graphs by content and serve repeats from memory or disk")
+    public void testMSTCache() throws IOException {
+        // Same content with edges reversed and reordered, under a different id
+        List<Edge> shuffled = new ArrayList<>();
+        for (Edge edge : simpleGraph.getEdges()) {
+            shuffled.add(0, new Edge(edge.getTo(), edge.getFrom(), edge.getWeight()));
+        }
+        Graph sameContent = new Graph(99, simpleGraph.getNodes(), shuffled);
+        assertEquals(MSTCache.key(simpleGraph, MSTEngine.KRUSKAL), MSTCache.key(sameContent, MSTEngine.KRUSKAL));
+        assertNotEquals(MSTCache.key(simpleGraph, MSTEngine.KRUSKAL), MSTCache.key(simpleGraph, MSTEngine.PRIM));
+        assertNotEquals(MSTCache.key(simpleGraph, MSTEngine.KRUSKAL), MSTCache.key(mediumGraph, MSTEngine.KRUSKAL));
+        // Node order decides roots, orientation and component numbering, so it is part of the key
+        List<String> reorderedNodes = new ArrayList<>(simpleGraph.getNodes());
+        Collections.reverse(reorderedNodes);
+        Graph reordered = new Graph(98, reorderedNodes, simpleGraph.getEdges());
+        assertNotEquals(MSTCache.key(simpleGraph, MSTEngine.PRIM), MSTCache.key(reordered, MSTEngine.PRIM));
+        
+        Path directory = Files.createTempDirectory("mst-cache");
+        try {
+            MSTCache cache = new MSTCache(1, directory);
+            MSTResult first = cache.findMST(simpleGraph, MSTEngine.KRUSKAL);
+            assertSame(first, cache.findMST(simpleGraph, MSTEngine.KRUSKAL));
+            // A hit on the reversed graph reports its edges in that graph's direction
+            MSTResult reversedHit = cache.findMST(sameContent, MSTEngine.KRUSKAL);
+            assertEquals(first.getTotalCost(), reversedHit.getTotalCost());
+            assertEquals(new HashSet<>(first.getMstEdges()), new HashSet<>(reversedHit.getMstEdges()));
+            for (Edge edge : reversedHit.getMstEdges()) {
+                assertTrue(shuffled.stream().anyMatch(e -> e.getFrom().equals(edge.getFrom())
+                    && e.getTo().equals(edge.getTo()) && e.getWeight() == edge.getWeight()));
+            }
+            cache.findMST(mediumGraph, MSTEngine.KRUSKAL); // Evicts simpleGraph from memory
+            assertEquals(2, cache.getMissCount());
+            assertEquals(2, cache.getHitCount());
+            
+            MSTCache reopened = new MSTCache(8, directory);
+            MSTResult fromDisk = reopened.findMST(simpleGraph, MSTEngine.KRUSKAL,
+                () -> { throw new AssertionError("Cache hit must not recompute"); });
+            assertEquals(first.getTotalCost(), fromDisk.getTotalCost());
+            assertEquals(first.getMstEdges().size(), fromDisk.getMstEdges().size());
+            assertEquals(first.getOperationBreakdown(), fromDisk.getOperationBreakdown());
+            assertEquals(1, reopened.getDiskHitCount());
+            
+            // Trial statistics survive the disk tier as well
+            MSTResult timed = new MSTTimer(1, 3, false).measure(MSTEngine.PRIM, mediumGraph);
+            cache.findMST(mediumGraph, MSTEngine.PRIM, () -> timed);
+            MSTResult timedFromDisk = new MSTCache(8, directory).findMST(mediumGraph, MSTEngine.PRIM,
+                () -> { throw new AssertionError("Cache hit must not recompute"); });
+            assertEquals(timed.getOperationBreakdown(), timedFromDisk.getOperationBreakdown());
+            assertEquals(timed.getTimingStats().getTrials(), timedFromDisk.getTimingStats().getTrials());
+            assertEquals(timed.getTimingStats().getMedianMs(), timedFromDisk.getTimingStats().getMedianMs());
+            assertEquals(timed.getTimingStats().getAllocatedBytesPerRun(),
+                timedFromDisk.getTimingStats().getAllocatedBytesPerRun());
+            
+            // Concurrent lookups and stores against the disk tier keep the counters consistent
+            MSTCache shared = new MSTCache(2, directory);
+            List<Graph> graphs = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                graphs.add(GraphGenerator.generateGraph(120 + i, 40, 0.2));
+            }
+            ForkJoinPool pool = new ForkJoinPool(8);
+            try {
+                pool.submit(() -> java.util.stream.IntStream.range(0, 96).parallel().forEach(
+                    i -> shared.findMST(graphs.get(i % graphs.size()), MSTEngine.KRUSKAL))).join();
+            } finally {
+                pool.shutdown();
+            }
+            assertEquals(96, shared.getHitCount() + shared.getMissCount());
+            for (int i = 0; i < graphs.size(); i++) {
+                assertEquals(KruskalAlgorithm.findMST(graphs.get(i)).getTotalCost(),
+                    shared.findMST(graphs.get(i), MSTEngine.KRUSKAL).getTotalCost());
+            }
+        } finally {
+            try (java.util.stream.Stream<Path> files = Files.list(directory)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+    
+    @Test
+    @DisplayName("MST service should solve posted graphs with the selected engine")
+    public void testMSTService() throws Exception {
+        StringWriter payload = new StringWriter();
+        try (JsonGraphWriter writer = new JsonGraphWriter(payload, true)) {
+            writer.write(simpleGraph);
+            writer.write(mediumGraph);
+        }
+        
+        MSTService service = new MSTService(new InetSocketAddress("127.0.0.1", 0), 2, 2);
+        service.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + service.getPort();
+            
+            HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create(base + "/mst?engine=prim_dense"))
+                    .POST(HttpRequest.BodyPublishers.ofString(payload.toString())).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+            JsonArray results = JsonParser.parseString(response.body()).getAsJsonObject().getAsJsonArray("results");
+            assertEquals(2, results.size(), "One result per posted graph");
+            JsonObject first = results.get(0).getAsJsonObject();
+            assertEquals(1, first.get("graph_id").getAsInt());
+            assertEquals("PRIM_DENSE", first.get("engine").getAsString());
+            assertEquals(16, first.getAsJsonObject("mst").get("total_cost").getAsInt());
+            assertEquals(6, results.get(1).getAsJsonObject().getAsJsonObject("mst").get("total_cost").getAsInt());
+            
+            HttpResponse<String> unknownEngine = client.send(
+                HttpRequest.newBuilder(URI.create(base + "/mst?engine=bogus"))
+                    .POST(HttpRequest.BodyPublishers.ofString(payload.toString())).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, unknownEngine.statusCode());
+            HttpResponse<String> malformed = client.send(
+                HttpRequest.newBuilder(URI.create(base + "/mst"))
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"graphs\": [{\"edges\": [{}]}]}")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, malformed.statusCode());
+            HttpResponse<String> get = client.send(HttpRequest.newBuilder(URI.create(base + "/mst")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, get.statusCode());
+            HttpResponse<String> health = client.send(HttpRequest.newBuilder(URI.create(base + "/health")).build(),
+                HttpResponse.BodyHandlers.ofString());
+            assertEquals("ok", health.body());
+        } finally {
+            service.close();
+        }
+    }
+    
+    // ========== DYNAMIC MST TESTS ==========
+    
+    @Test
+    @DisplayName("Incremental MST should track insertions and weight decreases")
+    public void testIncrementalMSTInsertions() {
+        IncrementalMST incremental = new IncrementalMST(simpleGraph, KruskalAlgorithm.findMST(simpleGraph));
+        assertEquals(16, incremental.getTotalCost());
+        
+        // A-E at 1 replaces the heaviest edge on the tree path A-C-...-E
+        MSTUpdate update = incremental.insertEdge("A", "E", 1);
+        assertTrue(update.isChanged());
+        assertEquals(1, update.getAdded().size());
+        assertEquals(1, update.getRemoved().size());
+        assertEquals(6, update.getRemoved().get(0).getWeight());
+        assertEquals(11, incremental.getTotalCost());
+        
+        assertFalse(incremental.insertEdge("C", "E", 9).isChanged(), "Heavier edge does not enter the tree");
+        incremental.decreaseWeight("A", "E", 0);
+        assertEquals(10, incremental.getTotalCost());
+        
+        // Random insertions must match recomputing from scratch
+        Graph graph = GraphGenerator.generateGraph(108, 60, 0.1);
+        List<Edge> edges = new ArrayList<>(graph.getEdges());
+        incremental = new IncrementalMST(graph, KruskalAlgorithm.findMST(graph));
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            String from = graph.getNodes().get(random.nextInt(60));
+            String to = graph.getNodes().get(random.nextInt(60));
+            if (from.equals(to)) {
+                continue;
+            }
+            Edge edge = new Edge(from, to, 1 + random.nextInt(100));
+            edges.add(edge);
+            incremental.insertEdge(from, to, edge.getWeight());
+            if (i % 20 == 0) {
+                Graph current = new Graph(108, graph.getNodes(), edges);
+                assertEquals(KruskalAlgorithm.findMST(current).getTotalCost(), incremental.getTotalCost());
+                assertTrue(isAcyclic(incremental.getTreeEdges(), graph.getNodes()));
+            }
+        }
+        assertEquals(59, incremental.getTreeEdgeCount());
+    }
+    
+    @Test
+    @DisplayName("Incremental MST should find replacement edges for deletions and weight increases")
+    public void testIncrementalMSTDeletions() {
+        IncrementalMST incremental = new IncrementalMST(simpleGraph, KruskalAlgorithm.findMST(simpleGraph));
+        
+        // Closing B-D leaves C-D (7) as the cheapest way back to D and E
+        MSTUpdate update = incremental.deleteEdge("B", "D");
+        assertEquals(7, update.getAdded().get(0).getWeight());
+        assertEquals(18, incremental.getTotalCost());
+        assertFalse(incremental.deleteEdge("A", "B").isChanged(), "Non-tree edge closure keeps the tree");
+        
+        // Raising A-C above everything still keeps it: it is the only way to reach A
+        incremental.increaseWeight("A", "C", 50);
+        assertEquals(65, incremental.getTotalCost());
+        assertThrows(IllegalArgumentException.class, () -> incremental.deleteEdge("A", "E"));
+        
+        // Closing A-C cuts A off: nothing replaces it and the rest stays a spanning forest
+        assertTrue(incremental.deleteEdge("A", "C").isChanged());
+        assertEquals(15, incremental.getTotalCost());
+        assertEquals(3, incremental.getTreeEdges().size());
+        
+        // Random mixed updates must match recomputing from scratch; the graph is sparse enough
+        // that deletions disconnect it at some checkpoints and insertions reconnect it at others
+        Graph graph = GraphGenerator.generateGraph(109, 50, 0.08);
+        Map<String, Edge> edges = new LinkedHashMap<>();
+        for (Edge edge : graph.getEdges()) {
+            edges.put(edgeKey(edge.getFrom(), edge.getTo()), edge);
+        }
+        IncrementalMST random = new IncrementalMST(graph, KruskalAlgorithm.findMST(graph));
+        Random rng = new Random(11);
+        for (int i = 0; i < 300; i++) {
+            List<Edge> current = new ArrayList<>(edges.values());
+            Edge edge = current.get(rng.nextInt(current.size()));
+            String key = edgeKey(edge.getFrom(), edge.getTo());
+            switch (rng.nextInt(3)) {
+                case 0:
+                    random.deleteEdge(edge.getFrom(), edge.getTo());
+                    edges.remove(key);
+                    break;
+                case 1:
+                    int raised = edge.getWeight() + rng.nextInt(50);
+                    random.increaseWeight(edge.getFrom(), edge.getTo(), raised);
+                    edges.put(key, new Edge(edge.getFrom(), edge.getTo(), raised));
+                    break;
+                default:
+                    String from = graph.getNodes().get(rng.nextInt(50));
+                    String to = graph.getNodes().get(rng.nextInt(50));
+                    if (!from.equals(to) && !edges.containsKey(edgeKey(from, to))) {
+                        int weight = 1 + rng.nextInt(100);
+                        random.insertEdge(from, to, weight);
+                        edges.put(edgeKey(from, to), new Edge(from, to, weight));
+                    }
+            }
+            if (i % 25 == 0) {
+                MSTResult expected = KruskalAlgorithm.findMST(new Graph(109, graph.getNodes(), new ArrayList<>(edges.values())));
+                List<Edge> tree = random.getTreeEdges();
+                assertTrue(isAcyclic(tree, graph.getNodes()));
+                assertEquals(expected.getTotalCost(), random.getTotalCost());
+                assertEquals(expected.getMstEdges().size(), tree.size(), "One tree per component");
+                if (expected.isSpanningTree()) {
+                    assertEquals(graph.getNodes().size() - 1, tree.size());
+                }
+            }
+        }
+    }
+    
+    // ========== UNION-FIND TESTS ==========
+    
+    @Test
+    @DisplayName("Union-Find should handle long chains without recursion")
+    public void testUnionFindLongChain() {
+        int n = 200_000;
+        IntUnionFind uf = new IntUnionFind(n);
+        for (int i = 1; i < n; i++) {
+            assertTrue(uf.union(i - 1, i));
+        }
+        
+        assertEquals(1, uf.getComponentCount());
+        assertEquals(n, uf.sizeOf(0));
+        assertTrue(uf.connected(0, n - 1));
+        assertFalse(uf.union(0, n - 1), "Elements already in the same set");
+        assertTrue(uf.getOperationsCount() > 0);
+    }
+    
+    @Test
+    @DisplayName("Concurrent Union-Find should agree with sequential unions from many threads")
+    public void testConcurrentUnionFind() throws InterruptedException {
+        int n = 10_000;
+        ConcurrentUnionFind uf = new ConcurrentUnionFind(n);
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int offset = t;
+            // Every thread links the same chains in a different order: i ~ i + 2
+            threads[t] = new Thread(() -> {
+                for (int i = offset; i + 2 < n; i += threads.length) {
+                    uf.union(i, i + 2);
+                }
+                for (int i = n - 3 - offset; i >= 0; i -= threads.length) {
+                    uf.union(i, i + 2);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertTrue(uf.connected(0, n - 2), "Even elements form one set");
+        assertTrue(uf.connected(1, n - 1), "Odd elements form one set");
+        assertFalse(uf.connected(0, 1), "Even and odd sets stay apart");
+        
+        Graph graph = GraphGenerator.generateGraph(107, 400, 0.5);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            MSTResult parallel = KruskalAlgorithm.findMSTFiltered(graph.getCompactGraph(), pool);
+            assertEquals(KruskalAlgorithm.findMST(graph).getTotalCost(), parallel.getTotalCost());
+        } finally {
+            pool.shutdown();
+        }
+    }
+    
+    @Test
+    @DisplayName("String Union-Find adapter should keep the original API")
+    public void testUnionFindAdapter() {
+        UnionFind uf = new UnionFind();
+        for (String node : Arrays.asList("A", "B", "C", "D")) {
+            uf.makeSet(node);
+        }
+        
+        assertTrue(uf.union("A", "B"));
+        assertTrue(uf.union("C", "D"));
+        assertFalse(uf.union("B", "A"));
+        assertEquals(uf.find("A"), uf.find("B"));
+        assertFalse(uf.find("A").equals(uf.find("C")));
+        assertTrue(uf.getOperationsCount() > 0);
+        
+        // With a shared algorithm counter, the adapter still reads and resets only its own counts
+        OperationCounter shared = OperationCounter.counting();
+        shared.add(OperationCounter.Category.SORT, 7);
+        UnionFind counted = new UnionFind(shared);
+        counted.makeSet("A");
+        counted.makeSet("B");
+        counted.union("A", "B");
+        assertEquals(shared.getTotal() - 7, counted.getTotalOperations());
+        counted.resetOperationsCount();
+        assertEquals(0, counted.getTotalOperations());
+        assertEquals(7, shared.get(OperationCounter.Category.SORT));
+        assertTrue(shared.get(OperationCounter.Category.UNION) > 0);
+    }
+    
+    // ========== HELPER METHODS ==========
+    
+    /**
+     * Direction-independent key of the vertex pair u-v.
+     */
+    private String edgeKey(String u, String v) {
+        return u.compareTo(v) < 0 ? u + "-" + v : v + "-" + u;
+    }
+    
+    /**
+     * Checks if the given edges form an acyclic graph using Union-Find.
+     */
+    private boolean isAcyclic(List<Edge> edges, List<String> nodes) {
+        UnionFind uf = new UnionFind();
+        
+        for (String node : nodes) {
+            uf.makeSet(node);
+        }
+        
+        for (Edge edge : edges) {
+            String root1 = uf.find(edge.getFrom());
+            String root2 = uf.find(edge.getTo());
+            
+            if (root1.equals(root2)) {
+                return false; // Cycle detected
+            }
+            
+            uf.union(edge.getFrom(), edge.getTo());
+        }
+        
+        return true;
+    }
+    
+    /**
+     * Checks if the given edges connect all vertices using BFS.
+     */
+    private boolean isConnected(List<Edge> edges, List<String> nodes) {
+        if (nodes.isEmpty()) return true;
+        
+        // Build adjacency list from edges
+        Map<String, List<String>> adj = new HashMap<>();
+        for (String node : nodes) {
+            adj.put(node, new ArrayList<>());
+        }
+        
+        for (Edge edge : edges) {
+            adj.get(edge.getFrom()).add(edge.getTo());
+            adj.get(edge.getTo()).add(edge.getFrom());
+        }
+        
+        // BFS from first node
+        Set<String> visited = new HashSet<>();
+        Queue<String> queue = new LinkedList<>();
+        
+        queue.offer(nodes.get(0));
+        visited.add(nodes.get(0));
+        
+        while (!queue.isEmpty()) {
+            String current = queue.poll();
+            for (String neighbor : adj.get(current)) {
+                if (!visited.contains(neighbor)) {
+                    visited.add(neighbor);
+                    queue.offer(neighbor);
+                }
+            }
+        }
+        
+        return visited.size() == nodes.size();
+    }
+}
+